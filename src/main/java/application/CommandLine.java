@@ -0,0 +1,126 @@
+package application;
+
+import application.utils.ChunkedFileCompressor;
+import application.utils.RegressionReport;
+import application.utils.WorkloadCorpus;
+import domain.exception.CompressionException;
+import domain.factory.CompressionTypeEnum;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public final class CommandLine {
+
+    private CommandLine() {}
+
+    /**
+     * Runs one non-interactive command and returns the process exit status.
+     * Commands: compress <type|auto> <in> <out>, decompress <in> <out>, get <in> <index>, report <out> [baseline]
+     * @param args the command line arguments
+     **/
+    public static int run(String[] args) {
+        try {
+            switch (args[0]) {
+                case "compress" -> {
+                    requireArguments(args, 4);
+                    ChunkedFileCompressor compresseur = new ChunkedFileCompressor(parseType(args[1]));
+                    afficherRapport("Compression", compresseur.compress(Path.of(args[2]), Path.of(args[3])));
+                }
+                case "decompress" -> {
+                    requireArguments(args, 3);
+                    ChunkedFileCompressor compresseur = new ChunkedFileCompressor(null);
+                    afficherRapport("Décompression", compresseur.decompress(Path.of(args[1]), Path.of(args[2])));
+                }
+                case "get" -> {
+                    requireArguments(args, 3);
+                    ChunkedFileCompressor compresseur = new ChunkedFileCompressor(null);
+                    System.out.println(compresseur.get(Path.of(args[1]), Long.parseLong(args[2])));
+                }
+                case "report" -> {
+                    if (args.length != 2 && args.length != 3) {
+                        throw new IllegalArgumentException("report attend 1 ou 2 arguments");
+                    }
+                    return executerRapport(Path.of(args[1]), args.length == 3 ? Path.of(args[2]) : null);
+                }
+                default -> {
+                    afficherUsage();
+                    return 2;
+                }
+            }
+            return 0;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Arguments invalides : " + e.getMessage());
+            afficherUsage();
+            return 2;
+        } catch (IOException | CompressionException | IndexOutOfBoundsException e) {
+            System.err.println("Échec : " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Measures the codecs on the workload corpus, writes the results and compares them with the baseline if given
+     * @return 3 when at least one regression is found, 0 otherwise
+     **/
+    private static int executerRapport(Path sortie, Path reference) throws IOException {
+        RegressionReport rapport = new RegressionReport();
+        List<RegressionReport.Result> resultats = rapport.run(WorkloadCorpus.standard(true));
+        if (sortie.getFileName().toString().endsWith(".json")) {
+            RegressionReport.writeJson(resultats, sortie);
+        } else {
+            RegressionReport.writeCsv(resultats, sortie);
+        }
+        System.err.printf("%d mesures écrites dans %s%n", resultats.size(), sortie);
+
+        if (reference == null) {
+            return 0;
+        }
+        List<RegressionReport.Regression> regressions = rapport.compare(RegressionReport.readCsv(reference), resultats);
+        for (RegressionReport.Regression regression : regressions) {
+            System.err.println("Régression : " + regression);
+        }
+        System.err.println(regressions.isEmpty() ? "Aucune régression par rapport à " + reference
+                : regressions.size() + " régression(s) par rapport à " + reference);
+        return regressions.isEmpty() ? 0 : 3;
+    }
+
+    private static CompressionTypeEnum parseType(String nom) {
+        if (nom.equalsIgnoreCase("auto")) {
+            return null;
+        }
+        return CompressionTypeEnum.valueOf(nom.toUpperCase(Locale.ROOT));
+    }
+
+    private static void requireArguments(String[] args, int attendus) {
+        if (args.length != attendus) {
+            throw new IllegalArgumentException(args[0] + " attend " + (attendus - 1) + " arguments");
+        }
+    }
+
+    private static void afficherRapport(String operation, ChunkedFileCompressor.Report rapport) {
+        System.err.printf("%s : %,d valeurs, %,d octets bruts / %,d octets compressés (ratio %.2f) en %.2f s, %.1f Mo/s%n",
+                operation,
+                rapport.values(),
+                rapport.rawBytes(),
+                rapport.compressedBytes(),
+                rapport.ratio(),
+                rapport.nanos() / 1e9,
+                rapport.megabytesPerSecond());
+    }
+
+    private static void afficherUsage() {
+        System.err.println("Usage :");
+        String types = Arrays.stream(CompressionTypeEnum.values())
+                .map(type -> type.name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining("|"));
+        System.err.println("  compress <" + types + "|auto> <entrée> <sortie>");
+        System.err.println("  decompress <entrée> <sortie>");
+        System.err.println("  get <entrée> <index>");
+        System.err.println("  report <sortie.csv|sortie.json> [référence.csv]");
+        System.err.println("Les fichiers d'entrée contiennent des entiers 32 bits little-endian bruts.");
+    }
+}
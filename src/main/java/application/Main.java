@@ -12,6 +12,10 @@ import java.util.Scanner;
 
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(CommandLine.run(args));
+        }
+
         Scanner scanner = new Scanner(System.in);
         boolean continuer = true;
 
@@ -0,0 +1,303 @@
+package application.utils;
+
+import domain.BitPacking;
+import domain.entities.PackedData;
+import domain.entities.UnpackedData;
+import domain.exception.CompressionException;
+import domain.exception.DecompressionException;
+import domain.exception.InvalidDataException;
+import domain.factory.BitPackingFactory;
+import domain.factory.CompressionTypeEnum;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Compresses files of raw little-endian 32-bit integers chunk by chunk.
+ * Format: [Magic: 32 bits] then for each chunk [type, originalSize, wordCount] [Compressed Data]
+ * Chunks hold at most CHUNK_VALUES values because the codec headers store the size on 16 bits.
+ **/
+public class ChunkedFileCompressor {
+    public static final int MAGIC = 0x42504B31;
+    public static final int CHUNK_VALUES = 0xFFFF;
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final CompressionTypeEnum type;
+    private final Map<CompressionTypeEnum, BitPacking> codecs = new EnumMap<>(CompressionTypeEnum.class);
+
+    /**
+     * @param type the codec used for every chunk, or null to keep the smallest codec per chunk
+     **/
+    public ChunkedFileCompressor(CompressionTypeEnum type) {
+        this.type = type;
+    }
+
+    /**
+     * Compresses source into target, which is deleted if a chunk cannot be represented by the selected codec
+     **/
+    public Report compress(Path source, Path target) throws IOException {
+        try {
+            return compressFile(source, target);
+        } catch (CompressionException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+    }
+
+    private Report compressFile(Path source, Path target) throws IOException {
+        long start = System.nanoTime();
+        long values = 0;
+
+        try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ);
+             IntWriter writer = new IntWriter(FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            ByteBuffer chunkBuffer = ByteBuffer.allocateDirect(CHUNK_VALUES * 4).order(ORDER);
+            int[] chunk = new int[CHUNK_VALUES];
+            writer.writeInt(MAGIC);
+
+            while (true) {
+                chunkBuffer.clear();
+                while (chunkBuffer.hasRemaining() && input.read(chunkBuffer) != -1) {
+                    // remplir le chunk complet avant de compresser
+                }
+                chunkBuffer.flip();
+                if (!chunkBuffer.hasRemaining()) break;
+                if ((chunkBuffer.remaining() & 3) != 0) {
+                    throw new InvalidDataException("Input size is not a multiple of 4 bytes: " + source);
+                }
+
+                int count = chunkBuffer.remaining() / 4;
+                chunkBuffer.asIntBuffer().get(chunk, 0, count);
+                UnpackedData unpacked = UnpackedData.from(count == CHUNK_VALUES ? chunk : Arrays.copyOf(chunk, count));
+                PackedData packed = PackedData.empty();
+                CompressionTypeEnum used = compressChunk(unpacked, packed);
+
+                int[] words = packed.getData();
+                writer.writeInt(used.ordinal());
+                writer.writeInt(count);
+                writer.writeInt(words.length);
+                writer.writeInts(words, words.length);
+                values += count;
+            }
+            writer.flush();
+            return new Report(input.size(), writer.bytesWritten(), values, System.nanoTime() - start);
+        }
+    }
+
+    public Report decompress(Path source, Path target) throws IOException {
+        long start = System.nanoTime();
+        long values = 0;
+
+        try (IntReader reader = new IntReader(FileChannel.open(source, StandardOpenOption.READ));
+             IntWriter writer = new IntWriter(FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            readMagic(reader);
+            int[] words = new int[CHUNK_VALUES + 1];
+
+            while (reader.hasMore()) {
+                CompressionTypeEnum chunkType = readType(reader);
+                int count = reader.readInt();
+                int wordCount = reader.readInt();
+                if (words.length < wordCount) words = new int[wordCount];
+                reader.readInts(words, wordCount);
+
+                UnpackedData unpacked = UnpackedData.empty();
+                codecFor(chunkType).decompress(packedChunk(words, wordCount, count), unpacked);
+                writer.writeInts(unpacked.getData(), count);
+                values += count;
+            }
+            writer.flush();
+            return new Report(writer.bytesWritten(), reader.size(), values, System.nanoTime() - start);
+        }
+    }
+
+    public int get(Path source, long index) throws IOException {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Index must not be negative: " + index);
+        }
+
+        try (IntReader reader = new IntReader(FileChannel.open(source, StandardOpenOption.READ))) {
+            readMagic(reader);
+            long remaining = index;
+
+            while (reader.hasMore()) {
+                CompressionTypeEnum chunkType = readType(reader);
+                int count = reader.readInt();
+                int wordCount = reader.readInt();
+                if (remaining >= count) {
+                    reader.skipInts(wordCount);
+                    remaining -= count;
+                    continue;
+                }
+
+                int[] words = new int[wordCount];
+                reader.readInts(words, wordCount);
+                BitPacking codec = codecFor(chunkType);
+                codec.load(packedChunk(words, wordCount, count));
+                return codec.get((int) remaining);
+            }
+            throw new IndexOutOfBoundsException("Index out of range: " + index);
+        }
+    }
+
+    private CompressionTypeEnum compressChunk(UnpackedData unpacked, PackedData packed) {
+        if (type == null) {
+            return BitPackingFactory.compressSmallest(unpacked, packed);
+        }
+        codecFor(type).compress(unpacked, packed);
+        return type;
+    }
+
+    private BitPacking codecFor(CompressionTypeEnum chunkType) {
+        return codecs.computeIfAbsent(chunkType, BitPackingFactory::createBitPacking);
+    }
+
+    private static PackedData packedChunk(int[] words, int wordCount, int count) {
+        PackedData packed = PackedData.empty();
+        packed.setData(Arrays.copyOf(words, wordCount));
+        packed.setOriginalSize(count);
+        packed.setCompressedSize(wordCount);
+        return packed;
+    }
+
+    private static void readMagic(IntReader reader) throws IOException {
+        if (!reader.hasMore() || reader.readInt() != MAGIC) {
+            throw new DecompressionException("Not a compressed file: missing magic number");
+        }
+    }
+
+    private static CompressionTypeEnum readType(IntReader reader) throws IOException {
+        int ordinal = reader.readInt();
+        CompressionTypeEnum[] types = CompressionTypeEnum.values();
+        if (ordinal < 0 || ordinal >= types.length) {
+            throw new DecompressionException("Unknown compression type in chunk header: " + ordinal);
+        }
+        return types[ordinal];
+    }
+
+    /**
+     * Throughput is measured on the raw (uncompressed) side for both directions.
+     **/
+    public record Report(long rawBytes, long compressedBytes, long values, long nanos) {
+        public double megabytesPerSecond() {
+            return nanos == 0 ? 0 : (rawBytes / (1024.0 * 1024.0)) / (nanos / 1e9);
+        }
+
+        public double ratio() {
+            return compressedBytes == 0 ? 0 : (double) rawBytes / compressedBytes;
+        }
+    }
+
+    private static final class IntReader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ORDER);
+
+        private IntReader(FileChannel channel) {
+            this.channel = channel;
+            buffer.limit(0);
+        }
+
+        boolean hasMore() throws IOException {
+            return fill(1);
+        }
+
+        int readInt() throws IOException {
+            if (!fill(4)) throw new DecompressionException("Unexpected end of file");
+            return buffer.getInt();
+        }
+
+        void readInts(int[] target, int length) throws IOException {
+            int offset = 0;
+            while (offset < length) {
+                if (!fill(4)) throw new DecompressionException("Unexpected end of file");
+                int n = Math.min(length - offset, buffer.remaining() / 4);
+                buffer.asIntBuffer().get(target, offset, n);
+                buffer.position(buffer.position() + n * 4);
+                offset += n;
+            }
+        }
+
+        void skipInts(long count) throws IOException {
+            long bytes = count * 4;
+            int buffered = buffer.remaining();
+            if (bytes <= buffered) {
+                buffer.position(buffer.position() + (int) bytes);
+                return;
+            }
+            channel.position(channel.position() + (bytes - buffered));
+            buffer.limit(0);
+        }
+
+        long size() throws IOException {
+            return channel.size();
+        }
+
+        private boolean fill(int bytes) throws IOException {
+            if (buffer.remaining() >= bytes) return true;
+            buffer.compact();
+            while (buffer.position() < bytes && channel.read(buffer) != -1) {
+                // lire jusqu'à disposer d'au moins un entier
+            }
+            buffer.flip();
+            return buffer.remaining() >= bytes;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    private static final class IntWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ORDER);
+        private long written;
+
+        private IntWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void writeInt(int value) throws IOException {
+            if (buffer.remaining() < 4) flush();
+            buffer.putInt(value);
+        }
+
+        void writeInts(int[] source, int length) throws IOException {
+            int offset = 0;
+            while (offset < length) {
+                if (buffer.remaining() < 4) flush();
+                int n = Math.min(length - offset, buffer.remaining() / 4);
+                buffer.asIntBuffer().put(source, offset, n);
+                buffer.position(buffer.position() + n * 4);
+                offset += n;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                written += channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        long bytesWritten() {
+            return written + buffer.position();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            channel.close();
+        }
+    }
+}
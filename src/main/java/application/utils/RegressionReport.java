@@ -0,0 +1,267 @@
+package application.utils;
+
+import application.utils.WorkloadCorpus.Workload;
+import domain.BitPacking;
+import domain.entities.PackedData;
+import domain.entities.UnpackedData;
+import domain.exception.CompressionException;
+import domain.factory.BitPackingFactory;
+import domain.factory.CompressionTypeEnum;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures every registered codec on the WorkloadCorpus and compares the results with a stored baseline.
+ * Data is compressed in chunks of ChunkedFileCompressor.CHUNK_VALUES values, as the file format does,
+ * so that the 16-bit headers of Aligned and Overlapped do not exclude the large workloads.
+ * Each pass repeats the operation for at least 20 ms and throughputs are the best of several passes,
+ * which is less sensitive to noise than the mean of short runs.
+ **/
+public class RegressionReport {
+    public static final String CSV_HEADER = "workload,codec,status,ratio,encode_mb_s,decode_mb_s,get_ns";
+    public static final String OK = "ok";
+    public static final String SKIPPED = "skipped";
+    public static final String MISMATCH = "mismatch";
+    public static final String FAILED = "failed";
+    private static final int WARMUP = 2;
+    private static final long MIN_PASS_NANOS = 20_000_000;
+    private static final int GET_ACCESSES = 100_000;
+    private static final double RATIO_TOLERANCE = 0.005;
+
+    public record Result(String workload, String codec, String status,
+                         double ratio, double encodeMegabytesPerSecond, double decodeMegabytesPerSecond, double getNanos) {
+        public boolean isOk() {
+            return OK.equals(status);
+        }
+    }
+
+    public record Regression(String workload, String codec, String metric, double baseline, double current) {
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s / %s : %s %.2f -> %.2f", workload, codec, metric, baseline, current);
+        }
+    }
+
+    private final int repetitions;
+    private final double tolerance;
+    private long sink;
+
+    public RegressionReport() {
+        this(5, 0.10);
+    }
+
+    /**
+     * @param repetitions the number of measured passes per codec and workload
+     * @param tolerance the relative slowdown of encode, decode or get accepted before reporting a regression
+     **/
+    public RegressionReport(int repetitions, double tolerance) {
+        if (repetitions <= 0) {
+            throw new IllegalArgumentException("Repetitions must be positive: " + repetitions);
+        }
+        this.repetitions = repetitions;
+        this.tolerance = tolerance;
+    }
+
+    public List<Result> run(List<Workload> workloads) {
+        List<Result> results = new ArrayList<>();
+        for (Workload workload : workloads) {
+            for (CompressionTypeEnum type : CompressionTypeEnum.values()) {
+                if (BitPackingFactory.getRegistry().isRegistered(type)) {
+                    results.add(measure(workload, type));
+                }
+            }
+        }
+        return results;
+    }
+
+    public Result measure(Workload workload, CompressionTypeEnum type) {
+        int[] values = workload.values();
+        int chunkCount = (values.length + ChunkedFileCompressor.CHUNK_VALUES - 1) / ChunkedFileCompressor.CHUNK_VALUES;
+        UnpackedData[] chunks = new UnpackedData[chunkCount];
+        for (int c = 0; c < chunkCount; c++) {
+            int from = c * ChunkedFileCompressor.CHUNK_VALUES;
+            chunks[c] = UnpackedData.from(Arrays.copyOfRange(values, from, Math.min(values.length, from + ChunkedFileCompressor.CHUNK_VALUES)));
+        }
+        BitPacking codec = BitPackingFactory.createBitPacking(type);
+        System.gc();
+        double rawMegabytes = 4.0 * values.length / (1024 * 1024);
+
+        PackedData[] packed = new PackedData[chunkCount];
+        long encodeNanos = Long.MAX_VALUE;
+        try {
+            for (int pass = 0; pass < WARMUP + repetitions; pass++) {
+                long start = System.nanoTime();
+                long elapsed;
+                int rounds = 0;
+                do {
+                    for (int c = 0; c < chunkCount; c++) {
+                        packed[c] = PackedData.empty();
+                        codec.compress(chunks[c], packed[c]);
+                    }
+                    rounds++;
+                    elapsed = System.nanoTime() - start;
+                } while (elapsed < MIN_PASS_NANOS);
+                if (pass >= WARMUP) encodeNanos = Math.min(encodeNanos, elapsed / rounds);
+            }
+        } catch (CompressionException e) {
+            return new Result(workload.name(), type.name(), SKIPPED, 0, 0, 0, 0);
+        } catch (RuntimeException e) {
+            return new Result(workload.name(), type.name(), FAILED, 0, 0, 0, 0);
+        }
+
+        long compressedWords = 0;
+        for (PackedData p : packed) {
+            compressedWords += p.getData().length;
+        }
+        double ratio = (double) values.length / compressedWords;
+
+        long decodeNanos = Long.MAX_VALUE;
+        UnpackedData decoded = UnpackedData.empty();
+        try {
+            for (int c = 0; c < chunkCount; c++) {
+                codec.decompress(packed[c], decoded);
+                if (!Arrays.equals(decoded.getData(), chunks[c].getData())) {
+                    return new Result(workload.name(), type.name(), MISMATCH, ratio, 0, 0, 0);
+                }
+            }
+            for (int pass = 0; pass < WARMUP + repetitions; pass++) {
+                long start = System.nanoTime();
+                long elapsed;
+                int rounds = 0;
+                do {
+                    for (int c = 0; c < chunkCount; c++) {
+                        codec.decompress(packed[c], decoded);
+                        sink += decoded.getSize();
+                    }
+                    rounds++;
+                    elapsed = System.nanoTime() - start;
+                } while (elapsed < MIN_PASS_NANOS);
+                if (pass >= WARMUP) decodeNanos = Math.min(decodeNanos, elapsed / rounds);
+            }
+            return new Result(workload.name(), type.name(), OK, ratio,
+                    rawMegabytes / (encodeNanos / 1e9),
+                    rawMegabytes / (decodeNanos / 1e9),
+                    measureGet(codec, packed, chunks));
+        } catch (RuntimeException e) {
+            return new Result(workload.name(), type.name(), FAILED, ratio, 0, 0, 0);
+        }
+    }
+
+    private double measureGet(BitPacking codec, PackedData[] packed, UnpackedData[] chunks) {
+        Random random = new Random(WorkloadCorpus.SEED);
+        int[] chunkIndexes = new int[GET_ACCESSES];
+        int[] indexes = new int[GET_ACCESSES];
+        for (int i = 0; i < GET_ACCESSES; i++) {
+            chunkIndexes[i] = random.nextInt(chunks.length);
+            indexes[i] = random.nextInt(chunks[chunkIndexes[i]].getSize());
+        }
+
+        long best = Long.MAX_VALUE;
+        for (int pass = 0; pass < WARMUP + repetitions; pass++) {
+            long start = System.nanoTime();
+            long elapsed;
+            int rounds = 0;
+            do {
+                for (int i = 0; i < GET_ACCESSES; i++) {
+                    codec.load(packed[chunkIndexes[i]]);
+                    sink += codec.get(indexes[i]);
+                }
+                rounds++;
+                elapsed = System.nanoTime() - start;
+            } while (elapsed < MIN_PASS_NANOS);
+            if (pass >= WARMUP) best = Math.min(best, elapsed / rounds);
+        }
+        return (double) best / GET_ACCESSES;
+    }
+
+    /**
+     * Lists the pairs that got worse than the baseline: a lower ratio, a slower encode, decode or get beyond
+     * the tolerance, or a codec that no longer round-trips. Pairs missing from either side are ignored.
+     **/
+    public List<Regression> compare(List<Result> baseline, List<Result> current) {
+        Map<String, Result> reference = new HashMap<>();
+        for (Result result : baseline) {
+            reference.put(result.workload() + '/' + result.codec(), result);
+        }
+
+        List<Regression> regressions = new ArrayList<>();
+        for (Result result : current) {
+            Result before = reference.get(result.workload() + '/' + result.codec());
+            if (before == null || !before.isOk()) continue;
+            if (!result.isOk()) {
+                regressions.add(new Regression(result.workload(), result.codec(), "status " + result.status(), 0, 0));
+                continue;
+            }
+            if (result.ratio() < before.ratio() * (1 - RATIO_TOLERANCE)) {
+                regressions.add(new Regression(result.workload(), result.codec(), "ratio", before.ratio(), result.ratio()));
+            }
+            if (result.encodeMegabytesPerSecond() < before.encodeMegabytesPerSecond() * (1 - tolerance)) {
+                regressions.add(new Regression(result.workload(), result.codec(), "encode_mb_s",
+                        before.encodeMegabytesPerSecond(), result.encodeMegabytesPerSecond()));
+            }
+            if (result.decodeMegabytesPerSecond() < before.decodeMegabytesPerSecond() * (1 - tolerance)) {
+                regressions.add(new Regression(result.workload(), result.codec(), "decode_mb_s",
+                        before.decodeMegabytesPerSecond(), result.decodeMegabytesPerSecond()));
+            }
+            if (result.getNanos() > before.getNanos() * (1 + tolerance)) {
+                regressions.add(new Regression(result.workload(), result.codec(), "get_ns", before.getNanos(), result.getNanos()));
+            }
+        }
+        return regressions;
+    }
+
+    public static void writeCsv(List<Result> results, Path target) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(CSV_HEADER);
+        for (Result r : results) {
+            lines.add(String.format(Locale.ROOT, "%s,%s,%s,%.4f,%.2f,%.2f,%.2f", r.workload(), r.codec(), r.status(),
+                    r.ratio(), r.encodeMegabytesPerSecond(), r.decodeMegabytesPerSecond(), r.getNanos()));
+        }
+        Files.write(target, lines);
+    }
+
+    public static void writeJson(List<Result> results, Path target) throws IOException {
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            Result r = results.get(i);
+            json.append(String.format(Locale.ROOT,
+                    "  {\"workload\": \"%s\", \"codec\": \"%s\", \"status\": \"%s\", \"ratio\": %.4f, "
+                            + "\"encode_mb_s\": %.2f, \"decode_mb_s\": %.2f, \"get_ns\": %.2f}",
+                    r.workload(), r.codec(), r.status(), r.ratio(),
+                    r.encodeMegabytesPerSecond(), r.decodeMegabytesPerSecond(), r.getNanos()));
+            json.append(i + 1 < results.size() ? ",\n" : "\n");
+        }
+        Files.writeString(target, json.append("]\n"));
+    }
+
+    public static List<Result> readCsv(Path source) throws IOException {
+        List<String> lines = Files.readAllLines(source);
+        if (lines.isEmpty() || !lines.get(0).equals(CSV_HEADER)) {
+            throw new IllegalArgumentException("Not a regression report: " + source);
+        }
+        List<Result> results = new ArrayList<>();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) continue;
+            String[] f = line.split(",");
+            results.add(new Result(f[0], f[1], f[2], Double.parseDouble(f[3]),
+                    Double.parseDouble(f[4]), Double.parseDouble(f[5]), Double.parseDouble(f[6])));
+        }
+        return results;
+    }
+
+    /**
+     * @return the checksum of every value read while measuring, so that the JIT cannot drop the reads
+     **/
+    public long getSink() {
+        return sink;
+    }
+}
@@ -0,0 +1,129 @@
+package application.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible datasets for RegressionReport: every workload is generated from a fixed seed,
+ * so two runs on different machines or commits measure exactly the same values.
+ **/
+public final class WorkloadCorpus {
+    public static final long SEED = 42;
+    public static final int DEFAULT_SIZE = 100_000;
+    public static final int LARGE_SIZE = 4_000_000;
+
+    public record Workload(String name, int[] values) {}
+
+    private WorkloadCorpus() {}
+
+    /**
+     * @param includeLarge adds the multi-million value workload, which dominates the run time
+     **/
+    public static List<Workload> standard(boolean includeLarge) {
+        List<Workload> workloads = new ArrayList<>();
+        workloads.add(new Workload("uniforme-100", Benchmark.genererUniforme(DEFAULT_SIZE, 100)));
+        workloads.add(new Workload("outliers-2pc", Benchmark.genererAvecOutliers(DEFAULT_SIZE, 100, 1_000_000, 0.02)));
+        workloads.add(new Workload("trie", sorted(DEFAULT_SIZE, 50)));
+        workloads.add(new Workload("zipf", zipfian(DEFAULT_SIZE, 1 << 20, 1.1)));
+        workloads.add(new Workload("plages", runs(DEFAULT_SIZE, 64, 1 << 16)));
+        workloads.add(new Workload("groupes", clustered(DEFAULT_SIZE, 256, 1 << 24, 1000)));
+        workloads.add(new Workload("signe", signed(DEFAULT_SIZE, 10_000)));
+        workloads.add(new Workload("largeur-max", nearMaxWidth(DEFAULT_SIZE)));
+        if (includeLarge) {
+            workloads.add(new Workload("uniforme-4M", Benchmark.genererUniforme(LARGE_SIZE, 1 << 20)));
+            workloads.add(new Workload("trie-4M", sorted(LARGE_SIZE, 8)));
+        }
+        return workloads;
+    }
+
+    /**
+     * Non-decreasing sequence with random gaps in [0, maxGap], like postings lists or offsets
+     **/
+    public static int[] sorted(int size, int maxGap) {
+        Random random = new Random(SEED);
+        int[] values = new int[size];
+        for (int i = 1; i < size; i++) {
+            values[i] = values[i - 1] + random.nextInt(maxGap + 1);
+        }
+        return values;
+    }
+
+    /**
+     * Zipf-distributed ranks in [0, universe): a few values are very frequent, most are rare
+     * Sampled by inverting the cumulative distribution, precomputed once
+     **/
+    public static int[] zipfian(int size, int universe, double exponent) {
+        double[] cumulative = new double[universe];
+        double sum = 0;
+        for (int rank = 0; rank < universe; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = sum;
+        }
+
+        Random random = new Random(SEED);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            int position = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            values[i] = position >= 0 ? position : -position - 1;
+        }
+        return values;
+    }
+
+    /**
+     * Repeated values: runs of random length up to maxRun, each run taking a value in [0, maxValue]
+     **/
+    public static int[] runs(int size, int maxRun, int maxValue) {
+        Random random = new Random(SEED);
+        int[] values = new int[size];
+        int i = 0;
+        while (i < size) {
+            int value = random.nextInt(maxValue + 1);
+            int end = Math.min(size, i + 1 + random.nextInt(maxRun));
+            Arrays.fill(values, i, end, value);
+            i = end;
+        }
+        return values;
+    }
+
+    /**
+     * Values concentrated around clusterCount random centers in [0, universe), spread by at most radius
+     **/
+    public static int[] clustered(int size, int clusterCount, int universe, int radius) {
+        Random random = new Random(SEED);
+        int[] centers = new int[clusterCount];
+        for (int c = 0; c < clusterCount; c++) {
+            centers[c] = radius + random.nextInt(universe - 2 * radius);
+        }
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = centers[random.nextInt(clusterCount)] + random.nextInt(2 * radius + 1) - radius;
+        }
+        return values;
+    }
+
+    /**
+     * Small values of both signs in [-amplitude, amplitude]
+     **/
+    public static int[] signed(int size, int amplitude) {
+        Random random = new Random(SEED);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt(2 * amplitude + 1) - amplitude;
+        }
+        return values;
+    }
+
+    /**
+     * Non-negative values in [2^30, 2^31), all needing 31 bits
+     **/
+    public static int[] nearMaxWidth(int size) {
+        Random random = new Random(SEED);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = (1 << 30) | random.nextInt(1 << 30);
+        }
+        return values;
+    }
+}
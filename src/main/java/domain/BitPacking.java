@@ -6,6 +6,7 @@ import domain.factory.CompressionTypeEnum;
 import domain.entities.PackedData;
 import domain.entities.UnpackedData;
 
+import java.util.Arrays;
 import java.util.Objects;
 
 public interface BitPacking {
@@ -14,6 +15,39 @@ public interface BitPacking {
     void decompress(PackedData fromPackedData, UnpackedData toUnpackedData);
     int get(int i);
 
+    /**
+     * Binds this instance to already packed data so that get can be used without decompressing it
+     * @param fromPackedData the compressed data read by the following get calls
+     **/
+    void load(PackedData fromPackedData);
+
+    /**
+     * Binds this instance to packed data stored at offset in a larger array, such as the buffer of a batch
+     * The default implementation copies the words out, codecs able to read them in place override it
+     * @param words the array holding the packed data
+     * @param offset the position of the first word of the packed data
+     * @param length the number of words of the packed data
+     **/
+    default void load(int[] words, int offset, int length) {
+        PackedData packedData = PackedData.empty();
+        packedData.setData(Arrays.copyOfRange(words, offset, offset + length));
+        load(packedData);
+    }
+
+    /**
+     * Decodes length consecutive values starting at index from into target
+     * Implementations may override it to decode sequentially instead of calling get for each value
+     * @param from the index of the first value
+     * @param target the output array
+     * @param targetOffset the position of the first value in target
+     * @param length the number of values to decode
+     **/
+    default void get(int from, int[] target, int targetOffset, int length) {
+        for (int i = 0; i < length; i++) {
+            target[targetOffset + i] = get(from + i);
+        }
+    }
+
     default int calculateRequiredBits(int maxValue) {
         return Integer.toBinaryString(maxValue).length();
     }
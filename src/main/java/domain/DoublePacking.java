@@ -0,0 +1,11 @@
+package domain;
+
+import domain.entities.DoublePackedData;
+import domain.entities.DoubleUnpackedData;
+
+public interface DoublePacking {
+
+    void compress(DoubleUnpackedData fromUnpackedData, DoublePackedData toPackedData);
+    void decompress(DoublePackedData fromPackedData, DoubleUnpackedData toUnpackedData);
+    double get(int i);
+}
@@ -0,0 +1,11 @@
+package domain;
+
+import domain.entities.FloatPackedData;
+import domain.entities.FloatUnpackedData;
+
+public interface FloatPacking {
+
+    void compress(FloatUnpackedData fromUnpackedData, FloatPackedData toPackedData);
+    void decompress(FloatPackedData fromPackedData, FloatUnpackedData toUnpackedData);
+    float get(int i);
+}
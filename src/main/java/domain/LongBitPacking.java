@@ -0,0 +1,15 @@
+package domain;
+
+import domain.entities.LongPackedData;
+import domain.entities.LongUnpackedData;
+
+public interface LongBitPacking {
+
+    void compress(LongUnpackedData fromUnpackedData, LongPackedData toPackedData);
+    void decompress(LongPackedData fromPackedData, LongUnpackedData toUnpackedData);
+    long get(int i);
+
+    default int calculateRequiredBits(long maxValue) {
+        return Long.toBinaryString(maxValue).length();
+    }
+}
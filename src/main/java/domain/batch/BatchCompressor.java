@@ -0,0 +1,276 @@
+package domain.batch;
+
+import domain.BitPacking;
+import domain.entities.PackedData;
+import domain.entities.UnpackedData;
+import domain.exception.CompressionException;
+import domain.exception.InvalidDataException;
+import domain.factory.BitPackingFactory;
+import domain.factory.CompressionTypeEnum;
+import domain.factory.products.FixedWidthLayout;
+
+import java.util.Arrays;
+
+/**
+ * Compresses many small arrays in one call into a PackedBatch.
+ * For ALIGNED and OVERLAPPED the values are packed straight into the batch buffer by a sequential loop:
+ * a first pass computes every width and segment size, so the only allocations are the buffer and the offset tables.
+ * Other types go through one reused codec instance whose output is appended to the buffer
+ * and which reads its segment in place, without copying it, when decoding.
+ * Like the codecs, an instance keeps scratch state and is not thread-safe.
+ **/
+public class BatchCompressor {
+    private static final int MAX_SEGMENT_SIZE = 0xFFFF;
+
+    private final CompressionTypeEnum type;
+    private final boolean shareBits;
+    private final BitPacking codec;
+    private final UnpackedData scratchUnpacked = UnpackedData.empty();
+    private final PackedData scratchPacked = PackedData.empty();
+    private int[] widths = new int[0];
+    private PackedBatch loadedBatch;
+    private int loadedArray = -1;
+
+    public BatchCompressor(CompressionTypeEnum type) {
+        this(type, false);
+    }
+
+    /**
+     * @param type the codec applied to every array
+     * @param shareBits true to pack every array with the widest width of the batch and drop the per-array headers,
+     *                  only supported by ALIGNED and OVERLAPPED
+     **/
+    public BatchCompressor(CompressionTypeEnum type, boolean shareBits) {
+        if (shareBits && !isFixedWidth(type)) {
+            throw new IllegalArgumentException("Shared bit width requires ALIGNED or OVERLAPPED, not " + type);
+        }
+        this.type = type;
+        this.shareBits = shareBits;
+        this.codec = isFixedWidth(type) ? null : BitPackingFactory.createBitPacking(type);
+    }
+
+    static boolean isFixedWidth(CompressionTypeEnum type) {
+        return type == CompressionTypeEnum.ALIGNED || type == CompressionTypeEnum.OVERLAPPED;
+    }
+
+    public PackedBatch compress(int[][] arrays) {
+        int[] valueOffsets = new int[arrays.length + 1];
+        for (int i = 0; i < arrays.length; i++) {
+            valueOffsets[i + 1] = valueOffsets[i] + arrays[i].length;
+        }
+        return compress(arrays, null, valueOffsets, arrays.length);
+    }
+
+    /**
+     * Compresses arrays stored back to back in a single array
+     * @param values the concatenated values
+     * @param valueOffsets count + 1 offsets: array i is values[valueOffsets[i]] to values[valueOffsets[i + 1] - 1]
+     * @param count the number of arrays
+     **/
+    public PackedBatch compress(int[] values, int[] valueOffsets, int count) {
+        return compress(null, values, Arrays.copyOf(valueOffsets, count + 1), count);
+    }
+
+    private PackedBatch compress(int[][] arrays, int[] values, int[] valueOffsets, int count) {
+        if (!isFixedWidth(type)) {
+            return compressWithCodec(arrays, values, valueOffsets, count);
+        }
+        boolean aligned = FixedWidthLayout.isAligned(type);
+        if (widths.length < count) {
+            widths = new int[Math.max(count, 2 * widths.length)];
+        }
+
+        int sharedBits = 1;
+        for (int i = 0; i < count; i++) {
+            int[] source = arrays != null ? arrays[i] : values;
+            int from = arrays != null ? 0 : valueOffsets[i];
+            int to = from + valueOffsets[i + 1] - valueOffsets[i];
+            int or = 0;
+            for (int k = from; k < to; k++) {
+                or |= source[k];
+            }
+            if (or < 0) {
+                throw new InvalidDataException("Fixed-width bit packing requires non-negative values (array " + i + ")");
+            }
+            widths[i] = Math.max(1, 32 - Integer.numberOfLeadingZeros(or));
+            sharedBits = Math.max(sharedBits, widths[i]);
+        }
+
+        int header = shareBits ? 0 : FixedWidthLayout.HEADER_SIZE;
+        int[] wordOffsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            int size = valueOffsets[i + 1] - valueOffsets[i];
+            if (!shareBits && size > MAX_SEGMENT_SIZE) {
+                throw new CompressionException("Array " + i + " has " + size + " values, more than the 16-bit header limit");
+            }
+            int bits = shareBits ? sharedBits : widths[i];
+            wordOffsets[i + 1] = wordOffsets[i] + FixedWidthLayout.wordsFor(aligned, bits, size) - FixedWidthLayout.HEADER_SIZE + header;
+        }
+
+        int[] buffer = new int[wordOffsets[count]];
+        for (int i = 0; i < count; i++) {
+            int size = valueOffsets[i + 1] - valueOffsets[i];
+            int bits = shareBits ? sharedBits : widths[i];
+            int[] source = arrays != null ? arrays[i] : values;
+            int from = arrays != null ? 0 : valueOffsets[i];
+            int start = wordOffsets[i];
+            if (!shareBits) {
+                buffer[start++] = FixedWidthLayout.header(size, bits);
+            }
+            if (aligned) packAligned(source, from, size, bits, buffer, start);
+            else packOverlapped(source, from, size, bits, buffer, start);
+        }
+        return new PackedBatch(type, shareBits ? sharedBits : 0, buffer, wordOffsets, valueOffsets, count);
+    }
+
+    private PackedBatch compressWithCodec(int[][] arrays, int[] values, int[] valueOffsets, int count) {
+        loadedBatch = null;
+        int[] wordOffsets = new int[count + 1];
+        int[] buffer = new int[Math.max(16, valueOffsets[count] / 2)];
+        for (int i = 0; i < count; i++) {
+            int size = valueOffsets[i + 1] - valueOffsets[i];
+            int length = 0;
+            if (size > 0) {
+                scratchUnpacked.setData(arrays != null ? arrays[i] : Arrays.copyOfRange(values, valueOffsets[i], valueOffsets[i + 1]));
+                codec.compress(scratchUnpacked, scratchPacked);
+                int[] words = scratchPacked.getData();
+                length = words.length;
+                if (wordOffsets[i] + length > buffer.length) {
+                    buffer = Arrays.copyOf(buffer, Math.max(2 * buffer.length, wordOffsets[i] + length));
+                }
+                System.arraycopy(words, 0, buffer, wordOffsets[i], length);
+            }
+            wordOffsets[i + 1] = wordOffsets[i] + length;
+        }
+        return new PackedBatch(type, 0, Arrays.copyOf(buffer, wordOffsets[count]), wordOffsets, valueOffsets, count);
+    }
+
+    public int[][] decompress(PackedBatch batch) {
+        int[][] arrays = new int[batch.getCount()][];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = new int[batch.size(i)];
+            decompress(batch, i, arrays[i], 0);
+        }
+        return arrays;
+    }
+
+    /**
+     * Decodes every array back to back into target, array i starting at batch.valueOffset(i)
+     * @param target an array of at least batch.getTotalValues() values
+     **/
+    public void decompressAll(PackedBatch batch, int[] target) {
+        for (int i = 0; i < batch.getCount(); i++) {
+            decompress(batch, i, target, batch.valueOffset(i));
+        }
+    }
+
+    /**
+     * Decodes one array of the batch without allocating
+     * @return the number of values written to target
+     **/
+    public int decompress(PackedBatch batch, int array, int[] target, int targetOffset) {
+        checkType(batch);
+        int size = batch.size(array);
+        if (size == 0) return 0;
+        if (!isFixedWidth(type)) {
+            load(batch, array);
+            codec.get(0, target, targetOffset, size);
+            return size;
+        }
+
+        int[] buffer = batch.getBuffer();
+        int start = batch.wordOffset(array);
+        int bits = batch.hasSharedBits() ? batch.getSharedBits() : buffer[start++] & 0xFFFF;
+        if (type == CompressionTypeEnum.ALIGNED) unpackAligned(buffer, start, bits, target, targetOffset, size);
+        else unpackOverlapped(buffer, start, bits, target, targetOffset, size);
+        return size;
+    }
+
+    public int get(PackedBatch batch, int array, int index) {
+        checkType(batch);
+        if (!isFixedWidth(type)) {
+            load(batch, array);
+            return codec.get(index);
+        }
+        int[] buffer = batch.getBuffer();
+        int start = batch.wordOffset(array);
+        int bits = batch.hasSharedBits() ? batch.getSharedBits() : buffer[start++] & 0xFFFF;
+        return FixedWidthLayout.read(buffer, start, type == CompressionTypeEnum.ALIGNED, bits, index);
+    }
+
+    private void checkType(PackedBatch batch) {
+        if (batch.getType() != type) {
+            throw new IllegalArgumentException("Batch packed as " + batch.getType() + ", compressor uses " + type);
+        }
+    }
+
+    /**
+     * Binds the codec to one segment of the buffer, read in place, consecutive reads of the same array reuse it
+     **/
+    private void load(PackedBatch batch, int array) {
+        if (loadedBatch != batch || loadedArray != array) {
+            codec.load(batch.getBuffer(), batch.wordOffset(array), batch.wordLength(array));
+            loadedBatch = batch;
+            loadedArray = array;
+        }
+    }
+
+    private static void packAligned(int[] source, int from, int size, int bits, int[] buffer, int start) {
+        int valuesPerWord = 32 / bits;
+        int mask = FixedWidthLayout.mask(bits);
+        int word = 0;
+        int slot = 0;
+        for (int k = from; k < from + size; k++) {
+            word |= (source[k] & mask) << (slot * bits);
+            if (++slot == valuesPerWord) {
+                buffer[start++] = word;
+                word = 0;
+                slot = 0;
+            }
+        }
+        if (slot > 0) buffer[start] = word;
+    }
+
+    private static void packOverlapped(int[] source, int from, int size, int bits, int[] buffer, int start) {
+        long mask = FixedWidthLayout.mask(bits) & 0xFFFFFFFFL;
+        long accumulator = 0;
+        int filled = 0;
+        for (int k = from; k < from + size; k++) {
+            accumulator |= (source[k] & mask) << filled;
+            filled += bits;
+            if (filled >= 32) {
+                buffer[start++] = (int) accumulator;
+                accumulator >>>= 32;
+                filled -= 32;
+            }
+        }
+        if (filled > 0) buffer[start] = (int) accumulator;
+    }
+
+    private static void unpackAligned(int[] buffer, int start, int bits, int[] target, int targetOffset, int size) {
+        int valuesPerWord = 32 / bits;
+        int mask = FixedWidthLayout.mask(bits);
+        int k = 0;
+        while (k < size) {
+            int word = buffer[start++];
+            for (int slot = 0; slot < valuesPerWord && k < size; slot++) {
+                target[targetOffset + k++] = (word >>> (slot * bits)) & mask;
+            }
+        }
+    }
+
+    private static void unpackOverlapped(int[] buffer, int start, int bits, int[] target, int targetOffset, int size) {
+        long mask = FixedWidthLayout.mask(bits) & 0xFFFFFFFFL;
+        long accumulator = 0;
+        int available = 0;
+        for (int k = 0; k < size; k++) {
+            if (available < bits) {
+                accumulator |= (buffer[start++] & 0xFFFFFFFFL) << available;
+                available += 32;
+            }
+            target[targetOffset + k] = (int) (accumulator & mask);
+            accumulator >>>= bits;
+            available -= bits;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package domain.batch;
+
+import domain.entities.PackedData;
+import domain.exception.CompressionException;
+import domain.factory.CompressionTypeEnum;
+import domain.factory.products.FixedWidthLayout;
+
+import java.util.Arrays;
+
+/**
+ * Many small arrays packed one after the other in a single int[] buffer.
+ * wordOffsets[i] is where the segment of array i starts in the buffer and valueOffsets[i]
+ * the index of its first value in the concatenation of all arrays, both have count + 1 entries.
+ * With a shared width (ALIGNED and OVERLAPPED only) segments hold no header and sharedBits applies to all of them,
+ * otherwise each segment is exactly what the codec of the batch would have produced for that array alone.
+ **/
+public final class PackedBatch {
+    private static final int MAX_EXPORT_SIZE = 0xFFFF;
+
+    private final CompressionTypeEnum type;
+    private final int sharedBits;
+    private final int[] buffer;
+    private final int[] wordOffsets;
+    private final int[] valueOffsets;
+    private final int count;
+
+    PackedBatch(CompressionTypeEnum type, int sharedBits, int[] buffer, int[] wordOffsets, int[] valueOffsets, int count) {
+        this.type = type;
+        this.sharedBits = sharedBits;
+        this.buffer = buffer;
+        this.wordOffsets = wordOffsets;
+        this.valueOffsets = valueOffsets;
+        this.count = count;
+    }
+
+    public CompressionTypeEnum getType() {
+        return type;
+    }
+
+    /**
+     * @return the width shared by every array, or 0 when each segment carries its own header
+     **/
+    public int getSharedBits() {
+        return sharedBits;
+    }
+
+    public boolean hasSharedBits() {
+        return sharedBits > 0;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int size(int array) {
+        return valueOffsets[array + 1] - valueOffsets[array];
+    }
+
+    public int getTotalValues() {
+        return valueOffsets[count];
+    }
+
+    public int[] getBuffer() {
+        return buffer;
+    }
+
+    public int wordOffset(int array) {
+        return wordOffsets[array];
+    }
+
+    public int wordLength(int array) {
+        return wordOffsets[array + 1] - wordOffsets[array];
+    }
+
+    public int valueOffset(int array) {
+        return valueOffsets[array];
+    }
+
+    /**
+     * @return the memory used by the buffer and both offset tables
+     **/
+    public long getByteSize() {
+        return 4L * (wordOffsets[count] + 2L * (count + 1));
+    }
+
+    /**
+     * Copies one segment out as standalone PackedData readable by the codec of the batch
+     * With a shared width the header has to be rebuilt, so arrays of more than 65535 values cannot be exported
+     * @param array the position of the array in the batch
+     **/
+    public PackedData toPackedData(int array) {
+        int start = wordOffsets[array];
+        int end = wordOffsets[array + 1];
+        int[] words;
+        if (hasSharedBits()) {
+            if (size(array) > MAX_EXPORT_SIZE) {
+                throw new CompressionException("Array " + array + " has " + size(array)
+                        + " values, more than the 16-bit header of a standalone PackedData allows");
+            }
+            words = new int[FixedWidthLayout.HEADER_SIZE + end - start];
+            words[0] = FixedWidthLayout.header(size(array), sharedBits);
+            System.arraycopy(buffer, start, words, FixedWidthLayout.HEADER_SIZE, end - start);
+        } else {
+            words = Arrays.copyOfRange(buffer, start, end);
+        }
+
+        PackedData packedData = PackedData.empty();
+        packedData.setData(words);
+        packedData.setOriginalSize(size(array));
+        packedData.setCompressedSize(words.length);
+        if (BatchCompressor.isFixedWidth(type)) {
+            packedData.setBitsPerValue(FixedWidthLayout.bits(words));
+        }
+        return packedData;
+    }
+}
@@ -0,0 +1,64 @@
+package domain.cache;
+
+import domain.BitPacking;
+import domain.entities.PackedData;
+import domain.entities.UnpackedData;
+
+/**
+ * Serves get from a DecodedBlockCache in front of any BitPacking implementation.
+ * On a miss the whole block containing the index is decoded once through the delegate,
+ * following accesses to the same block are plain array reads.
+ * Several instances can share one cache to keep a global memory budget.
+ **/
+public class CachedBitPacking implements BitPacking {
+    private final BitPacking delegate;
+    private final DecodedBlockCache cache;
+    private int[] lastWords;
+    private int lastSize;
+
+    public CachedBitPacking(BitPacking delegate, DecodedBlockCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public void compress(UnpackedData fromUnpackedData, PackedData toPackedData) {
+        delegate.compress(fromUnpackedData, toPackedData);
+        this.lastWords = toPackedData.getData();
+        this.lastSize = fromUnpackedData.getSize();
+    }
+
+    @Override
+    public void decompress(PackedData fromPackedData, UnpackedData toUnpackedData) {
+        delegate.decompress(fromPackedData, toUnpackedData);
+        this.lastWords = fromPackedData.getData();
+        this.lastSize = toUnpackedData.getSize();
+    }
+
+    /**
+     * The size is taken from getOriginalSize, as set by the compress method of the codecs
+     **/
+    @Override
+    public void load(PackedData fromPackedData) {
+        delegate.load(fromPackedData);
+        this.lastWords = fromPackedData.getData();
+        this.lastSize = fromPackedData.getOriginalSize();
+    }
+
+    @Override
+    public int get(int index) {
+        int blockSize = cache.getBlockSize();
+        int block = index / blockSize;
+        int offset = cache.find(lastWords, block);
+        if (offset < 0) {
+            offset = cache.allocate(lastWords, block);
+            int from = block * blockSize;
+            delegate.get(from, cache.getPool(), offset, Math.min(blockSize, lastSize - from));
+        }
+        return cache.getPool()[offset + index - block * blockSize];
+    }
+
+    public DecodedBlockCache getCache() {
+        return cache;
+    }
+}
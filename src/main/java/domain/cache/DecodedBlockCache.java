@@ -0,0 +1,156 @@
+package domain.cache;
+
+import java.util.Arrays;
+
+/**
+ * Bounded cache of decoded blocks, keyed by the identity of a packed array and a block number.
+ * Decoded values live in a single int[] pool split into fixed slots, so a hit costs a hash probe
+ * and an array read. When the pool is full a slot is reclaimed with the CLOCK algorithm.
+ * The cache keeps the packed arrays it has seen reachable until their blocks are evicted or clear is called.
+ * Like the codecs, an instance is not thread-safe.
+ **/
+public class DecodedBlockCache {
+    private static final int EMPTY = 0;
+
+    private final int blockSize;
+    private final int slotCount;
+    private final int[] pool;
+
+    private final Object[] owners;
+    private final int[] blocks;
+    private final int[] hashes;
+    private final boolean[] referenced;
+    private final int[] table;
+    private final int tableMask;
+
+    private int used;
+    private int clockHand;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param blockSize the number of values per decoded block
+     * @param byteBudget the memory allowed for decoded values, at least one block is always kept
+     **/
+    public DecodedBlockCache(int blockSize, long byteBudget) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.slotCount = (int) Math.max(1, Math.min(Integer.MAX_VALUE / blockSize, byteBudget / (4L * blockSize)));
+        this.pool = new int[slotCount * blockSize];
+
+        this.owners = new Object[slotCount];
+        this.blocks = new int[slotCount];
+        this.hashes = new int[slotCount];
+        this.referenced = new boolean[slotCount];
+        this.table = new int[Integer.highestOneBit(slotCount) << 2];
+        this.tableMask = table.length - 1;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public int[] getPool() {
+        return pool;
+    }
+
+    /**
+     * @return the offset of the block in the pool, or -1 on a miss
+     **/
+    public int find(int[] owner, int block) {
+        int hash = hash(owner, block);
+        for (int i = hash & tableMask; table[i] != EMPTY; i = (i + 1) & tableMask) {
+            int slot = table[i] - 1;
+            if (owners[slot] == owner && blocks[slot] == block) {
+                referenced[slot] = true;
+                hits++;
+                return slot * blockSize;
+            }
+        }
+        misses++;
+        return -1;
+    }
+
+    /**
+     * Reserves a slot for a block that was not found, evicting another block if needed
+     * @return the offset in the pool where the caller must write the decoded values
+     **/
+    public int allocate(int[] owner, int block) {
+        int slot = used < slotCount ? used++ : evict();
+        owners[slot] = owner;
+        blocks[slot] = block;
+        hashes[slot] = hash(owner, block);
+        referenced[slot] = true;
+
+        int i = hashes[slot] & tableMask;
+        while (table[i] != EMPTY) i = (i + 1) & tableMask;
+        table[i] = slot + 1;
+        return slot * blockSize;
+    }
+
+    public void clear() {
+        Arrays.fill(owners, null);
+        Arrays.fill(table, EMPTY);
+        used = 0;
+        clockHand = 0;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getByteSize() {
+        return 4L * pool.length;
+    }
+
+    private int evict() {
+        while (referenced[clockHand]) {
+            referenced[clockHand] = false;
+            clockHand = (clockHand + 1) % slotCount;
+        }
+        int slot = clockHand;
+        clockHand = (clockHand + 1) % slotCount;
+        remove(slot);
+        evictions++;
+        return slot;
+    }
+
+    private void remove(int slot) {
+        int position = hashes[slot] & tableMask;
+        while (table[position] != slot + 1) position = (position + 1) & tableMask;
+        owners[slot] = null;
+
+        // décalage arrière pour conserver des chaînes de sondage sans trou
+        int next = position;
+        while (true) {
+            table[position] = EMPTY;
+            while (true) {
+                next = (next + 1) & tableMask;
+                if (table[next] == EMPTY) return;
+                int ideal = hashes[table[next] - 1] & tableMask;
+                boolean movable = position <= next
+                        ? (ideal <= position || ideal > next)
+                        : (ideal <= position && ideal > next);
+                if (movable) break;
+            }
+            table[position] = table[next];
+            position = next;
+        }
+    }
+
+    private static int hash(int[] owner, int block) {
+        int h = System.identityHashCode(owner) * 0x9E3779B9 + block;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,53 @@
+package domain.entities;
+
+import domain.exception.PackedDataException;
+
+import java.util.Arrays;
+
+public class DoublePackedData {
+    private long[] data;
+    private int originalSize;
+    private int compressedSize;
+
+    private DoublePackedData() {
+        this.data = new long[0];
+    }
+
+    public static DoublePackedData from(long[] longArray) {
+        if (longArray == null || longArray.length == 0) {
+            throw new PackedDataException("longArray must not be null or empty");
+        }
+        DoublePackedData packed = new DoublePackedData();
+        packed.data = Arrays.copyOf(longArray, longArray.length);
+        packed.compressedSize = longArray.length;
+        return packed;
+    }
+
+    public static DoublePackedData empty() {
+        return new DoublePackedData();
+    }
+
+    public long[] getData() {
+        return data;
+    }
+
+    public void setData(long[] newData) {
+        this.data = newData;
+    }
+
+    public void setOriginalSize(int size) {
+        this.originalSize = size;
+    }
+
+    public void setCompressedSize(int size) {
+        this.compressedSize = size;
+    }
+
+    public int getOriginalSize() {
+        return originalSize;
+    }
+
+    public int getCompressedSize() {
+        return compressedSize;
+    }
+}
@@ -0,0 +1,39 @@
+package domain.entities;
+
+import domain.exception.UnpackedDataException;
+
+import java.util.Arrays;
+
+public class DoubleUnpackedData {
+    private double[] data;
+    private int size;
+
+    private DoubleUnpackedData(double[] doubleArray) {
+        this.data = Arrays.copyOf(doubleArray, doubleArray.length);
+        this.size = doubleArray.length;
+    }
+
+    public static DoubleUnpackedData from(double[] doubleArray) {
+        if (doubleArray == null || doubleArray.length == 0){
+            throw new UnpackedDataException("doubleArray must not be null or empty");
+        }
+        return new DoubleUnpackedData(doubleArray);
+    }
+
+    public static DoubleUnpackedData empty() {
+        return new DoubleUnpackedData(new double[0]);
+    }
+
+    public double[] getData() {
+        return data;
+    }
+
+    public void setData(double[] data) {
+        this.data = data;
+        this.size = data.length;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,53 @@
+package domain.entities;
+
+import domain.exception.PackedDataException;
+
+import java.util.Arrays;
+
+public class FloatPackedData {
+    private int[] data;
+    private int originalSize;
+    private int compressedSize;
+
+    private FloatPackedData() {
+        this.data = new int[0];
+    }
+
+    public static FloatPackedData from(int[] intArray) {
+        if (intArray == null || intArray.length == 0) {
+            throw new PackedDataException("intArray must not be null or empty");
+        }
+        FloatPackedData packed = new FloatPackedData();
+        packed.data = Arrays.copyOf(intArray, intArray.length);
+        packed.compressedSize = intArray.length;
+        return packed;
+    }
+
+    public static FloatPackedData empty() {
+        return new FloatPackedData();
+    }
+
+    public int[] getData() {
+        return data;
+    }
+
+    public void setData(int[] newData) {
+        this.data = newData;
+    }
+
+    public void setOriginalSize(int size) {
+        this.originalSize = size;
+    }
+
+    public void setCompressedSize(int size) {
+        this.compressedSize = size;
+    }
+
+    public int getOriginalSize() {
+        return originalSize;
+    }
+
+    public int getCompressedSize() {
+        return compressedSize;
+    }
+}
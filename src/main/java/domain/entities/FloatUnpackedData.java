@@ -0,0 +1,39 @@
+package domain.entities;
+
+import domain.exception.UnpackedDataException;
+
+import java.util.Arrays;
+
+public class FloatUnpackedData {
+    private float[] data;
+    private int size;
+
+    private FloatUnpackedData(float[] floatArray) {
+        this.data = Arrays.copyOf(floatArray, floatArray.length);
+        this.size = floatArray.length;
+    }
+
+    public static FloatUnpackedData from(float[] floatArray) {
+        if (floatArray == null || floatArray.length == 0){
+            throw new UnpackedDataException("floatArray must not be null or empty");
+        }
+        return new FloatUnpackedData(floatArray);
+    }
+
+    public static FloatUnpackedData empty() {
+        return new FloatUnpackedData(new float[0]);
+    }
+
+    public float[] getData() {
+        return data;
+    }
+
+    public void setData(float[] data) {
+        this.data = data;
+        this.size = data.length;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,111 @@
+package domain.entities;
+
+import domain.BitPacking;
+import domain.factory.BitPackingFactory;
+import domain.factory.CompressionTypeEnum;
+
+import java.util.Arrays;
+
+/**
+ * UnpackedData view over compressed data: values are decoded chunk by chunk on first access
+ * and decoded chunks are kept, the full array is only built when getData is called.
+ * The size is taken from getOriginalSize, as set by the compress method of the codecs.
+ * The view reads through a codec instance of its own, bound once to the packed data,
+ * so codecs used elsewhere by the caller are never rebound.
+ **/
+public class LazyUnpackedData extends UnpackedData {
+    public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+    private final PackedData packedData;
+    private final BitPacking codec;
+    private final int chunkSize;
+    private final int[][] chunks;
+    private int[] materialized;
+    private int decodedChunks;
+
+    private LazyUnpackedData(PackedData packedData, CompressionTypeEnum type, int chunkSize) {
+        super(packedData.getOriginalSize());
+        this.packedData = packedData;
+        this.codec = BitPackingFactory.createBitPacking(type);
+        this.codec.load(packedData);
+        this.chunkSize = chunkSize;
+        this.chunks = new int[(getSize() + chunkSize - 1) / chunkSize][];
+    }
+
+    public static LazyUnpackedData of(PackedData packedData, CompressionTypeEnum type) {
+        return of(packedData, type, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param packedData the compressed data, read in place
+     * @param type the format of packedData
+     * @param chunkSize the number of values decoded on first access to one of them
+     **/
+    public static LazyUnpackedData of(PackedData packedData, CompressionTypeEnum type, int chunkSize) {
+        if (packedData == null || type == null) {
+            throw new IllegalArgumentException("Packed data and type must not be null");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        return new LazyUnpackedData(packedData, type, chunkSize);
+    }
+
+    @Override
+    public int get(int index) {
+        if (materialized != null) return materialized[index];
+        if (index < 0 || index >= getSize()) {
+            throw new IndexOutOfBoundsException("Index out of range: " + index);
+        }
+        int chunk = index / chunkSize;
+        int[] values = chunks[chunk];
+        if (values == null) values = decode(chunk);
+        return values[index - chunk * chunkSize];
+    }
+
+    /**
+     * Materializes the full array, reusing the chunks already decoded
+     **/
+    @Override
+    public int[] getData() {
+        if (materialized == null) {
+            int[] result = new int[getSize()];
+            for (int chunk = 0; chunk < chunks.length; chunk++) {
+                int from = chunk * chunkSize;
+                int length = Math.min(chunkSize, getSize() - from);
+                if (chunks[chunk] != null) {
+                    System.arraycopy(chunks[chunk], 0, result, from, length);
+                } else {
+                    codec.get(from, result, from, length);
+                }
+            }
+            materialized = result;
+            Arrays.fill(chunks, null);
+        }
+        return materialized;
+    }
+
+    @Override
+    public void setData(int[] data) {
+        super.setData(data);
+        materialized = data;
+        Arrays.fill(chunks, null);
+    }
+
+    public boolean isMaterialized() {
+        return materialized != null;
+    }
+
+    public int getDecodedChunkCount() {
+        return decodedChunks;
+    }
+
+    private int[] decode(int chunk) {
+        int from = chunk * chunkSize;
+        int[] values = new int[Math.min(chunkSize, getSize() - from)];
+        codec.get(from, values, 0, values.length);
+        chunks[chunk] = values;
+        decodedChunks++;
+        return values;
+    }
+}
@@ -0,0 +1,69 @@
+package domain.entities;
+
+import domain.exception.PackedDataException;
+
+import java.util.Arrays;
+
+public class LongPackedData {
+    private long[] data;
+    private int originalSize;
+    private int compressedSize;
+    private int bitsPerValue;
+
+    private LongPackedData(long[] longArray) {
+        this.data = Arrays.copyOf(longArray, longArray.length);
+        this.originalSize = longArray.length;
+        this.compressedSize = longArray.length;
+        this.bitsPerValue = 64;
+    }
+
+    private LongPackedData(int size) {
+        this.data = new long[size];
+        this.originalSize = 0;
+        this.compressedSize = 0;
+        this.bitsPerValue = 0;
+    }
+
+    public static LongPackedData from(long[] longArray) {
+        if (longArray == null || longArray.length == 0) {
+            throw new PackedDataException("longArray must not be null or empty");
+        }
+        return new LongPackedData(longArray);
+    }
+
+    public static LongPackedData empty() {
+        return new LongPackedData(0);
+    }
+
+    public long[] getData() {
+        return data;
+    }
+
+    public void setData(long[] newData) {
+        this.data = newData;
+    }
+
+    public void setOriginalSize(int size) {
+        this.originalSize = size;
+    }
+
+    public void setCompressedSize(int size) {
+        this.compressedSize = size;
+    }
+
+    public void setBitsPerValue(int bits) {
+        this.bitsPerValue = bits;
+    }
+
+    public int getOriginalSize() {
+        return originalSize;
+    }
+
+    public int getCompressedSize() {
+        return compressedSize;
+    }
+
+    public int getBitsPerValue() {
+        return bitsPerValue;
+    }
+}
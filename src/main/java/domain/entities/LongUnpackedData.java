@@ -0,0 +1,50 @@
+package domain.entities;
+
+import domain.exception.UnpackedDataException;
+
+import java.util.Arrays;
+
+public class LongUnpackedData {
+    private long[] data;
+    private int size;
+
+    private LongUnpackedData(long[] longArray) {
+        this.data = Arrays.copyOf(longArray, longArray.length);
+        this.size = longArray.length;
+    }
+
+    public static LongUnpackedData from(long[] longArray) {
+        if (longArray == null || longArray.length == 0){
+            throw new UnpackedDataException("longArray must not be null or empty");
+        }
+        return new LongUnpackedData(longArray);
+    }
+
+    public static LongUnpackedData empty() {
+        return new LongUnpackedData(new long[0]);
+    }
+
+    /**
+     * Values are compared as unsigned so that negative values are given the full 64-bit width
+     **/
+    public long getMaxUnsignedValue() {
+        long max = 0;
+        for (long value : data) {
+            if (Long.compareUnsigned(value, max) > 0) max = value;
+        }
+        return max;
+    }
+
+    public long[] getData() {
+        return data;
+    }
+
+    public void setData(long[] data) {
+        this.data = data;
+        this.size = data.length;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
@@ -14,6 +14,13 @@ public class UnpackedData {
         this.size = intArray.length;
     }
 
+    /**
+     * For subclasses providing their values on demand
+     **/
+    protected UnpackedData(int size) {
+        this.size = size;
+    }
+
     public static UnpackedData from(int[] intArray) {
         if (intArray == null || intArray.length == 0){
             throw new UnpackedDataException("intArray must not be null or empty");
@@ -30,6 +37,10 @@ public class UnpackedData {
         return stat.getMax();
     }
 
+    public int get(int index) {
+        return data[index];
+    }
+
     public int[] getData() {
         return data;
     }
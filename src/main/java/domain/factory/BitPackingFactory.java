@@ -1,9 +1,16 @@
 package domain.factory;
 
 import domain.BitPacking;
+import domain.entities.PackedData;
+import domain.entities.UnpackedData;
+import domain.exception.CompressionException;
 import domain.factory.products.BitpackingOverlapped;
 import domain.factory.products.BitpackingAligned;
+import domain.factory.products.BitpackingDelta;
+import domain.factory.products.BitpackingEliasFano;
+import domain.factory.products.BitpackingStreamVByte;
 import domain.factory.products.BitpackingWithOverflow;
+import domain.monitoring.InstrumentedBitPacking;
 
 //public class BitPackingFactory {
 //
@@ -19,12 +26,16 @@ import domain.factory.products.BitpackingWithOverflow;
 public final class BitPackingFactory {
 
     private static final BitPackingRegistry registry = new BitPackingRegistry();
+    private static final boolean monitoring = InstrumentedBitPacking.isEnabled();
 
     static {
         try {
             Class.forName(BitpackingAligned.class.getName());
             Class.forName(BitpackingOverlapped.class.getName());
             Class.forName(BitpackingWithOverflow.class.getName());
+            Class.forName(BitpackingEliasFano.class.getName());
+            Class.forName(BitpackingDelta.class.getName());
+            Class.forName(BitpackingStreamVByte.class.getName());
         } catch (ClassNotFoundException e) {
             throw new ExceptionInInitializerError(e);
         }
@@ -40,6 +51,26 @@ public final class BitPackingFactory {
         if (!registry.isRegistered(type)) {
             throw new IllegalArgumentException("No implementation registered for type: " + type);
         }
-        return registry.create(type);
+        BitPacking bitPacking = registry.create(type);
+        return monitoring ? new InstrumentedBitPacking(type, bitPacking) : bitPacking;
     }
-}
\ No newline at end of file
+
+    /**
+     * Compresses the data with the implementation whose output WidthAnalysis computes to be the smallest,
+     * in a single pass over the values instead of compressing them with every implementation.
+     * Only implementations able to represent every value are considered, OVERFLOW being the fallback.
+     * @param fromUnpackedData the data to compress
+     * @param toPackedData the compressed output of the selected implementation
+     * @return the type of the selected implementation
+     **/
+    public static CompressionTypeEnum compressSmallest(UnpackedData fromUnpackedData, PackedData toPackedData) {
+        CompressionTypeEnum type = WidthAnalysis.suggest(fromUnpackedData.getData());
+        try {
+            createBitPacking(type).compress(fromUnpackedData, toPackedData);
+        } catch (CompressionException e) {
+            type = CompressionTypeEnum.OVERFLOW;
+            createBitPacking(type).compress(fromUnpackedData, toPackedData);
+        }
+        return type;
+    }
+}
@@ -3,5 +3,8 @@ package domain.factory;
 public enum CompressionTypeEnum {
     ALIGNED,
     OVERLAPPED,
-    OVERFLOW
+    OVERFLOW,
+    ELIAS_FANO,
+    DELTA,
+    STREAM_VBYTE
 }
@@ -0,0 +1,34 @@
+package domain.factory;
+
+import domain.LongBitPacking;
+import domain.factory.products.LongBitpackingAligned;
+import domain.factory.products.LongBitpackingOverlapped;
+import domain.factory.products.LongBitpackingWithOverflow;
+
+public final class LongBitPackingFactory {
+
+    private static final LongBitPackingRegistry registry = new LongBitPackingRegistry();
+
+    static {
+        try {
+            Class.forName(LongBitpackingAligned.class.getName());
+            Class.forName(LongBitpackingOverlapped.class.getName());
+            Class.forName(LongBitpackingWithOverflow.class.getName());
+        } catch (ClassNotFoundException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private LongBitPackingFactory() {}
+
+    public static LongBitPackingRegistry getRegistry() {
+        return registry;
+    }
+
+    public static LongBitPacking createBitPacking(CompressionTypeEnum type) {
+        if (!registry.isRegistered(type)) {
+            throw new IllegalArgumentException("No implementation registered for type: " + type);
+        }
+        return registry.create(type);
+    }
+}
@@ -0,0 +1,28 @@
+package domain.factory;
+
+import domain.LongBitPacking;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public class LongBitPackingRegistry {
+    private final Map<CompressionTypeEnum, Supplier<LongBitPacking>> registry = new HashMap<>();
+
+    public void register(CompressionTypeEnum type, Supplier<LongBitPacking> supplier) {
+        if (type == null || supplier == null)
+            throw new IllegalArgumentException("Type and supplier must not be null");
+        registry.put(type, supplier);
+    }
+
+    public LongBitPacking create(CompressionTypeEnum type) {
+        Supplier<LongBitPacking> supplier = registry.get(type);
+        if (supplier == null)
+            throw new IllegalArgumentException("No implementation registered for type: " + type);
+        return supplier.get();
+    }
+
+    public boolean isRegistered(CompressionTypeEnum type) {
+        return registry.containsKey(type);
+    }
+}
@@ -0,0 +1,82 @@
+package domain.factory;
+
+import domain.factory.products.BitpackingDelta;
+import domain.factory.products.BitpackingEliasFano;
+import domain.factory.products.BitpackingStreamVByte;
+import domain.factory.products.BitpackingWithOverflow;
+import domain.factory.products.FixedWidthLayout;
+import domain.index.SkipIndex;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Single-pass estimate of the packed size of an array for every registered codec,
+ * used to pick a codec without compressing the array with each of them.
+ * The sizes come from the codecs themselves, only codecs able to represent every value are suggested.
+ **/
+public final class WidthAnalysis {
+    private static final int MAX_FIXED_WIDTH_SIZE = 0xFFFF;
+
+    private WidthAnalysis() {}
+
+    /**
+     * @return the registered codec with the smallest packed size, OVERFLOW (which represents every value)
+     * when no other codec is smaller or for an empty array
+     **/
+    public static CompressionTypeEnum suggest(int[] values) {
+        int size = values.length;
+        if (size == 0) return CompressionTypeEnum.OVERFLOW;
+
+        int interval = SkipIndex.DEFAULT_INTERVAL;
+        int[] lengthCounts = new int[33];
+        boolean sorted = true;
+        long deltaBits = 0;
+        int widthMask = 0;
+        long vbyteBytes = 0;
+
+        for (int i = 0; i < size; i++) {
+            int value = values[i];
+            lengthCounts[BitpackingWithOverflow.bitLength(value)]++;
+            vbyteBytes += BitpackingStreamVByte.byteLength(value);
+            if (i > 0 && value < values[i - 1]) sorted = false;
+            if (i % interval != 0) widthMask |= BitpackingDelta.zigzag(value - values[i - 1]);
+            // fin d'un bloc delta : sa largeur ne dépend que du OU de ses deltas
+            if (i % interval == interval - 1 || i == size - 1) {
+                deltaBits += BitpackingDelta.blockBits(i % interval, widthMask);
+                widthMask = 0;
+            }
+        }
+
+        Map<CompressionTypeEnum, Long> packedWords = new EnumMap<>(CompressionTypeEnum.class);
+        packedWords.put(CompressionTypeEnum.OVERFLOW, BitpackingWithOverflow.packedWords(lengthCounts, size));
+        packedWords.put(CompressionTypeEnum.DELTA, BitpackingDelta.packedWords(interval, size, deltaBits));
+        packedWords.put(CompressionTypeEnum.STREAM_VBYTE, BitpackingStreamVByte.packedWords(interval, size, vbyteBytes));
+
+        // les largeurs fixes et Elias-Fano ne conservent pas les valeurs négatives
+        if (lengthCounts[32] == 0) {
+            if (size <= MAX_FIXED_WIDTH_SIZE) {
+                int maxBits = 31;
+                while (maxBits > 1 && lengthCounts[maxBits] == 0) maxBits--;
+                packedWords.put(CompressionTypeEnum.OVERLAPPED, (long) FixedWidthLayout.wordsFor(false, maxBits, size));
+                packedWords.put(CompressionTypeEnum.ALIGNED, (long) FixedWidthLayout.wordsFor(true, maxBits, size));
+            }
+            if (sorted) {
+                packedWords.put(CompressionTypeEnum.ELIAS_FANO, BitpackingEliasFano.packedWords(size, values[size - 1]));
+            }
+        }
+        return smallest(packedWords);
+    }
+
+    private static CompressionTypeEnum smallest(Map<CompressionTypeEnum, Long> packedWords) {
+        CompressionTypeEnum best = CompressionTypeEnum.OVERFLOW;
+        long bestWords = packedWords.get(best);
+        for (Map.Entry<CompressionTypeEnum, Long> entry : packedWords.entrySet()) {
+            if (entry.getValue() < bestWords && BitPackingFactory.getRegistry().isRegistered(entry.getKey())) {
+                best = entry.getKey();
+                bestWords = entry.getValue();
+            }
+        }
+        return best;
+    }
+}
@@ -1,6 +1,7 @@
 package domain.factory.products;
 
 import domain.BitPacking;
+import domain.exception.InvalidDataException;
 import domain.factory.BitPackingFactory;
 import domain.factory.CompressionTypeEnum;
 import domain.entities.PackedData;
@@ -21,6 +22,7 @@ public class BitpackingAligned implements BitPacking {
     @Override
     public void compress(UnpackedData fromUnpackedData, PackedData toPackedData) {
         int originalArrayLength = fromUnpackedData.getSize();
+        checkNonNegative(fromUnpackedData.getData());
         int maxValueInArray = fromUnpackedData.getMaxValue();
         int maxBitsNeeded = this.calculateRequiredBits(maxValueInArray);
 
@@ -60,6 +62,14 @@ public class BitpackingAligned implements BitPacking {
         this.lastPackedData = toPackedData;
     }
 
+    private static void checkNonNegative(int[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] < 0) {
+                throw new InvalidDataException("Aligned bit packing requires non-negative values (index " + i + ")");
+            }
+        }
+    }
+
     /**
      * This method decompresses aligned bit-packed data back to original integers
      * @param fromPackedData the compressed data
@@ -103,6 +113,11 @@ public class BitpackingAligned implements BitPacking {
         this.lastPackedData = fromPackedData;
     }
 
+    @Override
+    public void load(PackedData fromPackedData) {
+        this.lastPackedData = fromPackedData;
+    }
+
     @Override
     public int get(int index) {
         int[] compressedArray = lastPackedData.getData();
@@ -0,0 +1,247 @@
+package domain.factory.products;
+
+import domain.BitPacking;
+import domain.exception.CompressionException;
+import domain.factory.BitPackingFactory;
+import domain.factory.CompressionTypeEnum;
+import domain.entities.PackedData;
+import domain.entities.UnpackedData;
+import domain.index.SkipIndex;
+
+public class BitpackingDelta implements BitPacking {
+    private static final CompressionTypeEnum TYPE = CompressionTypeEnum.DELTA;
+    private static final int WORD_BITS = 32;
+    private static final int WIDTH_BITS = 6;
+    private final int interval;
+    private int[] packedWords;
+    private int packedOffset;
+
+    public BitpackingDelta() {
+        this(SkipIndex.DEFAULT_INTERVAL);
+    }
+
+    /**
+     * @param interval number of values per block: a larger interval saves index memory, a smaller one speeds up get
+     **/
+    public BitpackingDelta(int interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval must be positive: " + interval);
+        }
+        this.interval = interval;
+    }
+
+    /**
+     * This method compresses data as zigzag-encoded deltas between consecutive values, block by block
+     * Each block of interval values stores its own width, so blocks have variable sizes
+     * and a skip index records the bit offset and first value of every block
+     * Format: [originalSize] [Skip Index] [Payload]
+     * Block: [6 bits = width] [(interval - 1) deltas of width bits] (the first value is the skip base)
+     * The payload is limited to 2^31 bits since the skip index stores int bit offsets
+     * @param fromUnpackedData the data to compress
+     * @param toPackedData the compressed output
+     **/
+    @Override
+    public void compress(UnpackedData fromUnpackedData, PackedData toPackedData) {
+        int[] values = fromUnpackedData.getData();
+        int originalArrayLength = fromUnpackedData.getSize();
+
+        SkipIndex skipIndex = SkipIndex.allocate(interval, originalArrayLength);
+        int blockCount = skipIndex.entryCount();
+        long maxPayloadBits = (long) blockCount * WIDTH_BITS + (long) originalArrayLength * WORD_BITS;
+        int[] payload = new int[(int) ((maxPayloadBits + WORD_BITS - 1) / WORD_BITS)];
+
+        int bitPosition = 0;
+        for (int block = 0; block < blockCount; block++) {
+            int start = block * interval;
+            int end = Math.min(originalArrayLength, start + interval);
+
+            int widthMask = 0;
+            for (int i = start + 1; i < end; i++) {
+                widthMask |= zigzag(values[i] - values[i - 1]);
+            }
+            int width = WORD_BITS - Integer.numberOfLeadingZeros(widthMask);
+
+            // les offsets du SkipIndex sont des int : le flux ne peut pas dépasser 2^31 bits
+            if (bitPosition + blockBits(end - start - 1, widthMask) > Integer.MAX_VALUE) {
+                throw new CompressionException("Delta payload exceeds 2^31 bits at index " + start);
+            }
+            skipIndex.set(block, bitPosition, values[start]);
+            write(payload, 0, bitPosition, WIDTH_BITS, width);
+            bitPosition += WIDTH_BITS;
+            if (width == 0) continue;
+
+            for (int i = start + 1; i < end; i++) {
+                write(payload, 0, bitPosition, width, zigzag(values[i] - values[i - 1]));
+                bitPosition += width;
+            }
+        }
+
+        int payloadWords = (int) (((long) bitPosition + WORD_BITS - 1) / WORD_BITS);
+        int[] compressedData = new int[1 + skipIndex.length() + payloadWords];
+        compressedData[0] = originalArrayLength;
+        skipIndex.copyTo(compressedData, 1);
+        System.arraycopy(payload, 0, compressedData, 1 + skipIndex.length(), payloadWords);
+
+        toPackedData.setData(compressedData);
+        toPackedData.setOriginalSize(originalArrayLength);
+        toPackedData.setCompressedSize(compressedData.length);
+        toPackedData.setBitsPerValue((int) Math.ceil((double) bitPosition / originalArrayLength));
+        load(toPackedData);
+    }
+
+    @Override
+    public void decompress(PackedData fromPackedData, UnpackedData toUnpackedData) {
+        int[] packed = fromPackedData.getData();
+        int originalSize = packed[0];
+        SkipIndex skipIndex = SkipIndex.wrap(packed, 1);
+        int payloadStart = 1 + skipIndex.length();
+        int blockInterval = skipIndex.interval();
+
+        int[] result = new int[originalSize];
+        for (int block = 0; block < skipIndex.entryCount(); block++) {
+            int start = block * blockInterval;
+            int end = Math.min(originalSize, start + blockInterval);
+            int bitPosition = skipIndex.bitOffset(block);
+            int width = read(packed, payloadStart, bitPosition, WIDTH_BITS);
+            bitPosition += WIDTH_BITS;
+
+            int value = skipIndex.base(block);
+            result[start] = value;
+            for (int i = start + 1; i < end; i++) {
+                if (width > 0) {
+                    value += unzigzag(read(packed, payloadStart, bitPosition, width));
+                    bitPosition += width;
+                }
+                result[i] = value;
+            }
+        }
+
+        toUnpackedData.setData(result);
+        load(fromPackedData);
+    }
+
+    @Override
+    public void load(PackedData fromPackedData) {
+        load(fromPackedData.getData(), 0, fromPackedData.getData().length);
+    }
+
+    /**
+     * Reads the packed data where it is, the header included, without copying it
+     **/
+    @Override
+    public void load(int[] words, int offset, int length) {
+        this.packedWords = words;
+        this.packedOffset = offset;
+    }
+
+    /**
+     * Random access through the skip index: at most interval - 1 deltas are decoded
+     * @param index the position of the value
+     **/
+    @Override
+    public int get(int index) {
+        int[] packed = packedWords;
+        SkipIndex skipIndex = SkipIndex.wrap(packed, packedOffset + 1);
+        int payloadStart = packedOffset + 1 + skipIndex.length();
+
+        int block = skipIndex.entryFor(index);
+        int steps = index - block * skipIndex.interval();
+        int value = skipIndex.base(block);
+        if (steps == 0) return value;
+
+        int bitPosition = skipIndex.bitOffset(block);
+        int width = read(packed, payloadStart, bitPosition, WIDTH_BITS);
+        if (width == 0) return value;
+
+        bitPosition += WIDTH_BITS;
+        for (int k = 0; k < steps; k++) {
+            value += unzigzag(read(packed, payloadStart, bitPosition, width));
+            bitPosition += width;
+        }
+        return value;
+    }
+
+    /**
+     * Decodes each touched block once from its skip entry instead of restarting for every value
+     **/
+    @Override
+    public void get(int from, int[] target, int targetOffset, int length) {
+        int[] packed = packedWords;
+        SkipIndex skipIndex = SkipIndex.wrap(packed, packedOffset + 1);
+        int payloadStart = packedOffset + 1 + skipIndex.length();
+        int blockInterval = skipIndex.interval();
+        int end = from + length;
+
+        int index = from;
+        while (index < end) {
+            int block = index / blockInterval;
+            int blockStart = block * blockInterval;
+            int blockEnd = Math.min(end, blockStart + blockInterval);
+            int bitPosition = skipIndex.bitOffset(block);
+            int width = read(packed, payloadStart, bitPosition, WIDTH_BITS);
+            bitPosition += WIDTH_BITS;
+
+            int value = skipIndex.base(block);
+            for (int i = blockStart; i < blockEnd; i++) {
+                if (i > blockStart && width > 0) {
+                    value += unzigzag(read(packed, payloadStart, bitPosition, width));
+                    bitPosition += width;
+                }
+                if (i >= index) target[targetOffset + i - from] = value;
+            }
+            index = blockEnd;
+        }
+    }
+
+    /**
+     * Bits taken by one block in the payload: its width then deltaCount deltas
+     * @param widthMask the OR of the zigzag deltas of the block
+     **/
+    public static long blockBits(int deltaCount, int widthMask) {
+        return WIDTH_BITS + (long) deltaCount * (WORD_BITS - Integer.numberOfLeadingZeros(widthMask));
+    }
+
+    /**
+     * @return the length of the output of compress for size values whose blocks take payloadBits in total
+     **/
+    public static long packedWords(int interval, int size, long payloadBits) {
+        return 1 + SkipIndex.sizeFor(interval, size) + (payloadBits + WORD_BITS - 1) / WORD_BITS;
+    }
+
+    public static int zigzag(int delta) {
+        return (delta << 1) ^ (delta >> 31);
+    }
+
+    private static int unzigzag(int encoded) {
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+    private static void write(int[] words, int start, int bitPosition, int bits, int value) {
+        int wordIndex = start + (bitPosition >>> 5);
+        int bitOffset = bitPosition & 31;
+        words[wordIndex] |= value << bitOffset;
+        if (bitOffset + bits > WORD_BITS) {
+            words[wordIndex + 1] |= value >>> (WORD_BITS - bitOffset);
+        }
+    }
+
+    private static int read(int[] words, int start, int bitPosition, int bits) {
+        int wordIndex = start + (bitPosition >>> 5);
+        int bitOffset = bitPosition & 31;
+        int mask = bits == WORD_BITS ? -1 : (1 << bits) - 1;
+
+        if (bitOffset + bits <= WORD_BITS) {
+            return (words[wordIndex] >>> bitOffset) & mask;
+        } else {
+            int low = words[wordIndex] >>> bitOffset;
+            int high = words[wordIndex + 1] << (WORD_BITS - bitOffset);
+            return (low | high) & mask;
+        }
+    }
+
+    static {
+        BitPackingFactory.getRegistry().register(
+                CompressionTypeEnum.DELTA, BitpackingDelta::new
+        );
+    }
+}
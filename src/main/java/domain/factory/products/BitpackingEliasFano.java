@@ -0,0 +1,278 @@
+package domain.factory.products;
+
+import domain.BitPacking;
+import domain.exception.InvalidDataException;
+import domain.factory.BitPackingFactory;
+import domain.factory.CompressionTypeEnum;
+import domain.entities.PackedData;
+import domain.entities.UnpackedData;
+
+public class BitpackingEliasFano implements BitPacking {
+    private static final CompressionTypeEnum TYPE = CompressionTypeEnum.ELIAS_FANO;
+    private static final int WORD_BITS = 32;
+    private static final int HEADER_SIZE = 6;
+    private static final int SELECT_SAMPLING = 64;
+    private int[] packedWords;
+    private int packedOffset;
+
+    /**
+     * This method compresses a non-decreasing sequence of non-negative integers with Elias-Fano encoding
+     * Each value is split into lowBits stored verbatim and a high part stored in unary in a bit vector
+     * Format: [originalSize] [lowBits] [lowWords] [highWords] [select1Count] [select0Count]
+     *         [Low Bits] [High Bits] [Select1 Samples] [Select0 Samples]
+     * The select samples hold the position of every 64th one (resp. zero) of the high bits
+     * @param fromUnpackedData the sorted data to compress
+     * @param toPackedData the compressed output
+     **/
+    @Override
+    public void compress(UnpackedData fromUnpackedData, PackedData toPackedData) {
+        int[] values = fromUnpackedData.getData();
+        int originalArrayLength = fromUnpackedData.getSize();
+        checkSorted(values);
+
+        int maxValue = values[originalArrayLength - 1];
+        int lowBits = lowBits(originalArrayLength, maxValue);
+        int lowMask = (1 << lowBits) - 1;
+
+        int highLength = originalArrayLength + (maxValue >>> lowBits) + 1;
+        int lowWords = (int) (((long) originalArrayLength * lowBits + WORD_BITS - 1) / WORD_BITS);
+        int highWords = (highLength + WORD_BITS - 1) / WORD_BITS;
+        int zeroCount = highLength - originalArrayLength;
+        int select1Count = (originalArrayLength + SELECT_SAMPLING - 1) / SELECT_SAMPLING;
+        int select0Count = (zeroCount + SELECT_SAMPLING - 1) / SELECT_SAMPLING;
+
+        int lowStart = HEADER_SIZE;
+        int highStart = lowStart + lowWords;
+        int select1Start = highStart + highWords;
+        int select0Start = select1Start + select1Count;
+        int[] compressedData = new int[select0Start + select0Count];
+
+        compressedData[0] = originalArrayLength;
+        compressedData[1] = lowBits;
+        compressedData[2] = lowWords;
+        compressedData[3] = highWords;
+        compressedData[4] = select1Count;
+        compressedData[5] = select0Count;
+
+        long bitPosition = 0;
+        for (int i = 0; i < originalArrayLength; i++) {
+            if (lowBits > 0) {
+                int low = values[i] & lowMask;
+                int wordIndex = lowStart + (int) (bitPosition >>> 5);
+                int bitOffset = (int) (bitPosition & 31);
+                compressedData[wordIndex] |= low << bitOffset;
+                if (bitOffset + lowBits > WORD_BITS) {
+                    compressedData[wordIndex + 1] |= low >>> (WORD_BITS - bitOffset);
+                }
+                bitPosition += lowBits;
+            }
+
+            int highPosition = (values[i] >>> lowBits) + i;
+            compressedData[highStart + (highPosition >>> 5)] |= 1 << (highPosition & 31);
+            if (i % SELECT_SAMPLING == 0) {
+                compressedData[select1Start + i / SELECT_SAMPLING] = highPosition;
+            }
+        }
+
+        int zeroIndex = 0;
+        for (int position = 0; position < highLength; position++) {
+            if ((compressedData[highStart + (position >>> 5)] & (1 << (position & 31))) == 0) {
+                if (zeroIndex % SELECT_SAMPLING == 0) {
+                    compressedData[select0Start + zeroIndex / SELECT_SAMPLING] = position;
+                }
+                zeroIndex++;
+            }
+        }
+
+        toPackedData.setData(compressedData);
+        toPackedData.setOriginalSize(originalArrayLength);
+        toPackedData.setCompressedSize(compressedData.length);
+        toPackedData.setBitsPerValue(lowBits + 2);
+        load(toPackedData);
+    }
+
+    private static int lowBits(int size, int maxValue) {
+        long universe = (long) maxValue + 1;
+        return universe <= size ? 0 : 63 - Long.numberOfLeadingZeros(universe / size);
+    }
+
+    /**
+     * @return the length of the output of compress for size sorted values ending with maxValue
+     **/
+    public static long packedWords(int size, int maxValue) {
+        int lowBits = lowBits(size, maxValue);
+        long highLength = (long) size + (maxValue >>> lowBits) + 1;
+        long zeroCount = highLength - size;
+        return HEADER_SIZE + ((long) size * lowBits + WORD_BITS - 1) / WORD_BITS + (highLength + WORD_BITS - 1) / WORD_BITS
+                + ((long) size + SELECT_SAMPLING - 1) / SELECT_SAMPLING + (zeroCount + SELECT_SAMPLING - 1) / SELECT_SAMPLING;
+    }
+
+    private static void checkSorted(int[] values) {
+        if (values[0] < 0) {
+            throw new InvalidDataException("Elias-Fano encoding requires non-negative values");
+        }
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] < values[i - 1]) {
+                throw new InvalidDataException("Elias-Fano encoding requires a non-decreasing sequence (index " + i + ")");
+            }
+        }
+    }
+
+    @Override
+    public void decompress(PackedData fromPackedData, UnpackedData toUnpackedData) {
+        int[] packed = fromPackedData.getData();
+        int originalSize = packed[0];
+        int lowBits = packed[1];
+        int highStart = HEADER_SIZE + packed[2];
+        int highWords = packed[3];
+
+        int[] result = new int[originalSize];
+        int index = 0;
+        for (int w = 0; w < highWords && index < originalSize; w++) {
+            int word = packed[highStart + w];
+            while (word != 0 && index < originalSize) {
+                int position = (w << 5) + Integer.numberOfTrailingZeros(word);
+                result[index] = ((position - index) << lowBits) | readLow(packed, 0, lowBits, index);
+                index++;
+                word &= word - 1;
+            }
+        }
+
+        toUnpackedData.setData(result);
+        load(fromPackedData);
+    }
+
+    @Override
+    public void load(PackedData fromPackedData) {
+        load(fromPackedData.getData(), 0, fromPackedData.getData().length);
+    }
+
+    /**
+     * Reads the packed data where it is, the header included, without copying it
+     **/
+    @Override
+    public void load(int[] words, int offset, int length) {
+        this.packedWords = words;
+        this.packedOffset = offset;
+    }
+
+    /**
+     * Random access through the sampled select structure: at most 63 ones are skipped after the sample
+     * @param index the position of the value
+     **/
+    @Override
+    public int get(int index) {
+        int[] packed = packedWords;
+        int lowBits = packed[packedOffset + 1];
+        int highPosition = select1(packed, packedOffset, index);
+        return ((highPosition - index) << lowBits) | readLow(packed, packedOffset, lowBits, index);
+    }
+
+    /**
+     * Successor query on the last compressed or decompressed data
+     * @param value the lower bound searched for
+     * @return the smallest stored value greater than or equal to value, or -1 if there is none
+     **/
+    public int nextGreaterOrEqual(int value) {
+        int index = indexOfNextGreaterOrEqual(value);
+        return index < packedWords[packedOffset] ? get(index) : -1;
+    }
+
+    /**
+     * Successor query on the last compressed or decompressed data
+     * @param value the lower bound searched for
+     * @return the index of the first stored value greater than or equal to value, or the size if there is none
+     **/
+    public int indexOfNextGreaterOrEqual(int value) {
+        int[] packed = packedWords;
+        int start = packedOffset;
+        int originalSize = packed[start];
+        int lowBits = packed[start + 1];
+        int highStart = start + HEADER_SIZE + packed[start + 2];
+        int highWords = packed[start + 3];
+        if (value <= 0) return 0;
+        if (value > get(originalSize - 1)) return originalSize;
+
+        // tous les éléments de partie haute < high précèdent le high-ième zéro
+        int high = value >>> lowBits;
+        int position = high == 0 ? 0 : select0(packed, start, high - 1) + 1;
+        int index = position - high;
+
+        int w = position >>> 5;
+        int word = w < highWords ? packed[highStart + w] & (-1 << (position & 31)) : 0;
+        while (index < originalSize) {
+            while (word == 0) {
+                if (++w >= highWords) return originalSize;
+                word = packed[highStart + w];
+            }
+            int onePosition = (w << 5) + Integer.numberOfTrailingZeros(word);
+            int candidate = ((onePosition - index) << lowBits) | readLow(packed, start, lowBits, index);
+            if (candidate >= value) return index;
+            index++;
+            word &= word - 1;
+        }
+        return originalSize;
+    }
+
+    private static int select1(int[] packed, int start, int rank) {
+        int highStart = start + HEADER_SIZE + packed[start + 2];
+        int select1Start = highStart + packed[start + 3];
+        int sample = packed[select1Start + rank / SELECT_SAMPLING];
+        int remaining = rank % SELECT_SAMPLING;
+
+        int w = sample >>> 5;
+        int word = packed[highStart + w] & (-1 << (sample & 31));
+        int count = Integer.bitCount(word);
+        while (count <= remaining) {
+            remaining -= count;
+            word = packed[highStart + ++w];
+            count = Integer.bitCount(word);
+        }
+        for (int k = 0; k < remaining; k++) {
+            word &= word - 1;
+        }
+        return (w << 5) + Integer.numberOfTrailingZeros(word);
+    }
+
+    private static int select0(int[] packed, int start, int rank) {
+        int highStart = start + HEADER_SIZE + packed[start + 2];
+        int select0Start = highStart + packed[start + 3] + packed[start + 4];
+        int sample = packed[select0Start + rank / SELECT_SAMPLING];
+        int remaining = rank % SELECT_SAMPLING;
+
+        int w = sample >>> 5;
+        int word = ~packed[highStart + w] & (-1 << (sample & 31));
+        int count = Integer.bitCount(word);
+        while (count <= remaining) {
+            remaining -= count;
+            word = ~packed[highStart + ++w];
+            count = Integer.bitCount(word);
+        }
+        for (int k = 0; k < remaining; k++) {
+            word &= word - 1;
+        }
+        return (w << 5) + Integer.numberOfTrailingZeros(word);
+    }
+
+    private static int readLow(int[] packed, int start, int lowBits, int index) {
+        if (lowBits == 0) return 0;
+        long bitPosition = (long) index * lowBits;
+        int wordIndex = start + HEADER_SIZE + (int) (bitPosition >>> 5);
+        int bitOffset = (int) (bitPosition & 31);
+        int mask = (1 << lowBits) - 1;
+
+        if (bitOffset + lowBits <= WORD_BITS) {
+            return (packed[wordIndex] >>> bitOffset) & mask;
+        } else {
+            int low = packed[wordIndex] >>> bitOffset;
+            int high = packed[wordIndex + 1] << (WORD_BITS - bitOffset);
+            return (low | high) & mask;
+        }
+    }
+
+    static {
+        BitPackingFactory.getRegistry().register(
+                CompressionTypeEnum.ELIAS_FANO, BitpackingEliasFano::new
+        );
+    }
+}
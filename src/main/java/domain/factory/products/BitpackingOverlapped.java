@@ -1,6 +1,7 @@
 package domain.factory.products;
 
 import domain.BitPacking;
+import domain.exception.InvalidDataException;
 import domain.factory.BitPackingFactory;
 import domain.factory.CompressionTypeEnum;
 import domain.entities.PackedData;
@@ -20,6 +21,7 @@ public class BitpackingOverlapped implements BitPacking {
     @Override
     public void compress(UnpackedData fromUnpackedData, PackedData toPackedData) {
         int originalArrayLength = fromUnpackedData.getSize();
+        checkNonNegative(fromUnpackedData.getData());
         int maxValueInArray = fromUnpackedData.getMaxValue();
         int maxBitsNeeded = this.calculateRequiredBits(maxValueInArray);
         int totalBits = originalArrayLength * maxBitsNeeded;
@@ -56,6 +58,14 @@ public class BitpackingOverlapped implements BitPacking {
         this.lastPackedData = toPackedData;
     }
 
+    private static void checkNonNegative(int[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] < 0) {
+                throw new InvalidDataException("Overlapped bit packing requires non-negative values (index " + i + ")");
+            }
+        }
+    }
+
     @Override
     public void decompress(PackedData fromPackedData, UnpackedData toUnpackedData) {
         // Lire l'en-tête
@@ -88,6 +98,11 @@ public class BitpackingOverlapped implements BitPacking {
         this.lastPackedData = fromPackedData;
     }
 
+    @Override
+    public void load(PackedData fromPackedData) {
+        this.lastPackedData = fromPackedData;
+    }
+
     @Override
     public int get(int index) {
         // Lire l'en-tête
@@ -0,0 +1,247 @@
+package domain.factory.products;
+
+import domain.BitPacking;
+import domain.exception.CompressionException;
+import domain.factory.BitPackingFactory;
+import domain.factory.CompressionTypeEnum;
+import domain.entities.PackedData;
+import domain.entities.UnpackedData;
+import domain.index.SkipIndex;
+
+public class BitpackingStreamVByte implements BitPacking {
+    private static final CompressionTypeEnum TYPE = CompressionTypeEnum.STREAM_VBYTE;
+    private static final int GROUP = 4;
+    private static final long[] MASKS = {0L, 0xFFL, 0xFFFFL, 0xFFFFFFL, 0xFFFFFFFFL};
+
+    // table de "shuffle" : pour chaque octet de contrôle, la position des 4 valeurs et la taille du groupe
+    private static final byte[] OFFSETS = new byte[256 * GROUP];
+    private static final byte[] LENGTHS = new byte[256 * GROUP];
+    private static final byte[] GROUP_LENGTHS = new byte[256];
+
+    static {
+        for (int control = 0; control < 256; control++) {
+            int offset = 0;
+            for (int k = 0; k < GROUP; k++) {
+                int length = ((control >>> (2 * k)) & 3) + 1;
+                OFFSETS[control * GROUP + k] = (byte) offset;
+                LENGTHS[control * GROUP + k] = (byte) length;
+                offset += length;
+            }
+            GROUP_LENGTHS[control] = (byte) offset;
+        }
+    }
+
+    private final int interval;
+    private int[] packedWords;
+    private int packedOffset;
+
+    public BitpackingStreamVByte() {
+        this(SkipIndex.DEFAULT_INTERVAL);
+    }
+
+    /**
+     * @param interval number of values per skip entry, a multiple of 4 so that entries start on a control byte
+     **/
+    public BitpackingStreamVByte(int interval) {
+        if (interval <= 0 || interval % GROUP != 0) {
+            throw new IllegalArgumentException("Interval must be a positive multiple of 4: " + interval);
+        }
+        this.interval = interval;
+    }
+
+    /**
+     * This method compresses data with Stream VByte: every value takes 1 to 4 bytes (as unsigned),
+     * the lengths are stored apart as 2-bit codes, four per control byte
+     * Keeping controls and data in separate streams lets the decoder find the position of four values
+     * with a single table lookup instead of testing a continuation bit on every byte
+     * Format: [originalSize] [Skip Index] [Control Bytes] [Data Bytes] [1 padding word]
+     * The skip index stores the bit offset in the data stream and the first value of every block,
+     * which limits the data stream to 2^31 bits
+     * @param fromUnpackedData the data to compress
+     * @param toPackedData the compressed output
+     **/
+    @Override
+    public void compress(UnpackedData fromUnpackedData, PackedData toPackedData) {
+        int[] values = fromUnpackedData.getData();
+        int originalArrayLength = fromUnpackedData.getSize();
+        int groupCount = (originalArrayLength + GROUP - 1) / GROUP;
+
+        long dataBytes = 0;
+        for (int i = 0; i < originalArrayLength; i++) {
+            dataBytes += byteLength(values[i]);
+        }
+        // le SkipIndex stocke des offsets en bits sur un int
+        if (dataBytes * 8 > Integer.MAX_VALUE) {
+            throw new CompressionException("Stream VByte data exceeds 2^31 bits (" + dataBytes + " bytes)");
+        }
+
+        SkipIndex skipIndex = SkipIndex.allocate(interval, originalArrayLength);
+        int controlStart = 1 + skipIndex.length();
+        int dataStart = controlStart + (groupCount + 3) / 4;
+        int[] compressedData = new int[dataStart + (int) ((dataBytes + 3) / 4) + 1];
+        compressedData[0] = originalArrayLength;
+
+        int position = 0;
+        for (int i = 0; i < originalArrayLength; i++) {
+            if (i % interval == 0) {
+                skipIndex.set(i / interval, position << 3, values[i]);
+            }
+            int length = byteLength(values[i]);
+            int group = i >>> 2;
+            compressedData[controlStart + (group >>> 2)] |= (length - 1) << (((group & 3) << 3) + ((i & 3) << 1));
+            writeBytes(compressedData, dataStart, position, values[i]);
+            position += length;
+        }
+        skipIndex.copyTo(compressedData, 1);
+
+        toPackedData.setData(compressedData);
+        toPackedData.setOriginalSize(originalArrayLength);
+        toPackedData.setCompressedSize(compressedData.length);
+        toPackedData.setBitsPerValue(originalArrayLength == 0 ? 0
+                : (int) Math.ceil((double) (dataBytes * 8 + 2L * originalArrayLength) / originalArrayLength));
+        load(toPackedData);
+    }
+
+    @Override
+    public void decompress(PackedData fromPackedData, UnpackedData toUnpackedData) {
+        int[] packed = fromPackedData.getData();
+        int originalSize = packed[0];
+        int[] result = new int[originalSize];
+        decode(packed, 0, 0, result, 0, originalSize);
+
+        toUnpackedData.setData(result);
+        load(fromPackedData);
+    }
+
+    @Override
+    public void load(PackedData fromPackedData) {
+        load(fromPackedData.getData(), 0, fromPackedData.getData().length);
+    }
+
+    /**
+     * Reads the packed data where it is, the header included, without copying it
+     **/
+    @Override
+    public void load(int[] words, int offset, int length) {
+        this.packedWords = words;
+        this.packedOffset = offset;
+    }
+
+    /**
+     * Random access through the skip index: the control bytes of at most interval / 4 - 1 groups are summed
+     * with the table, the data bytes in between are never read
+     * @param index the position of the value
+     **/
+    @Override
+    public int get(int index) {
+        int[] packed = packedWords;
+        SkipIndex skipIndex = SkipIndex.wrap(packed, packedOffset + 1);
+        int block = skipIndex.entryFor(index);
+        if (index == block * skipIndex.interval()) return skipIndex.base(block);
+
+        int controlStart = packedOffset + 1 + skipIndex.length();
+        int dataStart = controlStart + (((packed[packedOffset] + GROUP - 1) / GROUP) + 3) / 4;
+        int position = seek(packed, skipIndex, controlStart, index);
+        int control = control(packed, controlStart, index >>> 2);
+        int slot = control * GROUP + (index & 3);
+        return readBytes(packed, dataStart, position + OFFSETS[slot], LENGTHS[slot]);
+    }
+
+    /**
+     * Seeks once through the skip index, then decodes whole groups sequentially
+     **/
+    @Override
+    public void get(int from, int[] target, int targetOffset, int length) {
+        decode(packedWords, packedOffset, from, target, targetOffset, length);
+    }
+
+    private static void decode(int[] packed, int start, int from, int[] target, int targetOffset, int length) {
+        if (length == 0) return;
+        SkipIndex skipIndex = SkipIndex.wrap(packed, start + 1);
+        int controlStart = start + 1 + skipIndex.length();
+        int dataStart = controlStart + (((packed[start] + GROUP - 1) / GROUP) + 3) / 4;
+
+        int position = seek(packed, skipIndex, controlStart, from & -GROUP);
+        int end = from + length;
+        int i = from & -GROUP;
+
+        // groupes complets : une lecture de table par groupe, sans branchement par valeur
+        while (i + GROUP <= end) {
+            int control = control(packed, controlStart, i >>> 2);
+            int base = control * GROUP;
+            if (i >= from) {
+                int out = targetOffset + i - from;
+                target[out] = readBytes(packed, dataStart, position + OFFSETS[base], LENGTHS[base]);
+                target[out + 1] = readBytes(packed, dataStart, position + OFFSETS[base + 1], LENGTHS[base + 1]);
+                target[out + 2] = readBytes(packed, dataStart, position + OFFSETS[base + 2], LENGTHS[base + 2]);
+                target[out + 3] = readBytes(packed, dataStart, position + OFFSETS[base + 3], LENGTHS[base + 3]);
+            } else {
+                for (int k = from - i; k < GROUP; k++) {
+                    target[targetOffset + i + k - from] = readBytes(packed, dataStart, position + OFFSETS[base + k], LENGTHS[base + k]);
+                }
+            }
+            position += GROUP_LENGTHS[control];
+            i += GROUP;
+        }
+
+        if (i < end) {
+            int base = control(packed, controlStart, i >>> 2) * GROUP;
+            for (int k = Math.max(0, from - i); i + k < end; k++) {
+                target[targetOffset + i + k - from] = readBytes(packed, dataStart, position + OFFSETS[base + k], LENGTHS[base + k]);
+            }
+        }
+    }
+
+    /**
+     * @param index a multiple of 4, or any index when only the start of its group is needed
+     * @return the byte position in the data stream of the group holding index
+     **/
+    private static int seek(int[] packed, SkipIndex skipIndex, int controlStart, int index) {
+        int block = skipIndex.entryFor(index);
+        int position = skipIndex.bitOffset(block) >>> 3;
+        int targetGroup = index >>> 2;
+        for (int group = block * skipIndex.interval() >>> 2; group < targetGroup; group++) {
+            position += GROUP_LENGTHS[control(packed, controlStart, group)];
+        }
+        return position;
+    }
+
+    private static int control(int[] packed, int controlStart, int group) {
+        return (packed[controlStart + (group >>> 2)] >>> ((group & 3) << 3)) & 0xFF;
+    }
+
+    public static int byteLength(int value) {
+        return Math.max(1, (32 - Integer.numberOfLeadingZeros(value) + 7) >>> 3);
+    }
+
+    /**
+     * @return the length of the output of compress for size values taking dataBytes in the data stream
+     **/
+    public static long packedWords(int interval, int size, long dataBytes) {
+        long groupCount = ((long) size + GROUP - 1) / GROUP;
+        return 1 + SkipIndex.sizeFor(interval, size) + (groupCount + 3) / 4 + (dataBytes + 3) / 4 + 1;
+    }
+
+    /**
+     * Reads a little-endian value of length bytes through a 64-bit window over two words,
+     * the padding word at the end keeps the window inside the array
+     **/
+    private static int readBytes(int[] words, int start, int position, int length) {
+        int wordIndex = start + (position >>> 2);
+        long window = (words[wordIndex] & 0xFFFFFFFFL) | ((long) words[wordIndex + 1] << 32);
+        return (int) ((window >>> ((position & 3) << 3)) & MASKS[length]);
+    }
+
+    private static void writeBytes(int[] words, int start, int position, int value) {
+        int wordIndex = start + (position >>> 2);
+        long shifted = (value & 0xFFFFFFFFL) << ((position & 3) << 3);
+        words[wordIndex] |= (int) shifted;
+        words[wordIndex + 1] |= (int) (shifted >>> 32);
+    }
+
+    static {
+        BitPackingFactory.getRegistry().register(
+                CompressionTypeEnum.STREAM_VBYTE, BitpackingStreamVByte::new
+        );
+    }
+}
@@ -7,13 +7,15 @@ import domain.entities.PackedData;
 import domain.entities.UnpackedData;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 public class BitpackingWithOverflow implements BitPacking {
     private static final CompressionTypeEnum TYPE = CompressionTypeEnum.OVERFLOW;
     private static final int WORD_BITS = 32;
-    private PackedData lastPackedData;
+    // au-delà, les valeurs de 31 et 32 bits (négatives) passent dans la table de débordement
+    public static final int MAX_PAYLOAD_BITS = 30;
+    private int[] packedWords;
+    private int packedOffset;
 
     private int payloadBits;
     private int elementBits;
@@ -26,24 +28,28 @@ public class BitpackingWithOverflow implements BitPacking {
     public void compress(UnpackedData fromUnpackedData, PackedData toPackedData) {
         int[] originalArray = fromUnpackedData.getData();
         int originalArrayLength = fromUnpackedData.getSize();
-        int[] bitLengths = Arrays.stream(originalArray).map(value -> Integer.toBinaryString(value).length()).toArray();
+        int[] lengthCounts = new int[WORD_BITS + 1];
+        for (int i = 0; i < originalArrayLength; i++) {
+            lengthCounts[bitLength(originalArray[i])]++;
+        }
 
-        payloadBits = findBitSize(bitLengths);
+        payloadBits = findBitSize(lengthCounts, originalArrayLength);
         elementBits = payloadBits + 1;
         maxPayloadValue = (1 << payloadBits) - 1;
         payloadMask = maxPayloadValue;
 
         overflowTable = new ArrayList<>();
 
-        int totalBits = originalArrayLength * elementBits;
-        int requiredWords = (totalBits + WORD_BITS - 1) / WORD_BITS;
+        long totalBits = (long) originalArrayLength * elementBits;
+        int requiredWords = (int) ((totalBits + WORD_BITS - 1) / WORD_BITS);
         int[] compressed = new int[requiredWords];
 
         int bitPosition = 0;
 
-        for (int value : originalArray) {
+        for (int k = 0; k < originalArrayLength; k++) {
+            int value = originalArray[k];
             int encoded;
-            if (value <= maxPayloadValue) { // flag = 0
+            if ((value >>> payloadBits) == 0) { // flag = 0
                 encoded = (0 << payloadBits) | (value & payloadMask);
             } else {
                 int index = overflowTable.size(); // flag = 1 -> value in overflow
@@ -81,28 +87,55 @@ public class BitpackingWithOverflow implements BitPacking {
         toPackedData.setOriginalSize(originalArrayLength);
         toPackedData.setCompressedSize(finalData.length);
         toPackedData.setBitsPerValue(elementBits);
-        this.lastPackedData = toPackedData;
+        load(toPackedData);
     }
 
-    private int findBitSize(int[] bitLengths) {
-        Arrays.sort(bitLengths);
-        int total = bitLengths.length, best = bitLengths[total - 1];
-        long minSize = Long.MAX_VALUE;
+    /**
+     * @return the number of bits of value, 32 for negative values
+     **/
+    public static int bitLength(int value) {
+        return Math.max(1, WORD_BITS - Integer.numberOfLeadingZeros(value));
+    }
 
-        for (int i = 0; i < total; ) {
-            int bits = bitLengths[i];
-            int j = i;
-            while (j < total && bitLengths[j] == bits) j++;
-            int overflow = total - j;
-            if (overflow == 0 || overflow <= (1 << bits)) {
-                long size = (long) total * (1 + bits) + (long) overflow * 32;
-                if (size < minSize) { minSize = size; best = bits; }
+    /**
+     * Picks the payload width minimizing size * (payloadBits + 1) + 32 * overflowCount,
+     * the overflow table being indexed by the payload itself
+     * @param lengthCounts lengthCounts[b] is the number of values whose bitLength is b
+     * @param size the number of values
+     **/
+    public static int findBitSize(int[] lengthCounts, int size) {
+        int best = MAX_PAYLOAD_BITS;
+        long minSize = Long.MAX_VALUE;
+        int overflow = size;
+        for (int bits = 1; bits <= MAX_PAYLOAD_BITS; bits++) {
+            overflow -= lengthCounts[bits];
+            if (overflow <= (1L << bits)) {
+                long cost = (long) size * (1 + bits) + (long) overflow * WORD_BITS;
+                if (cost < minSize) { minSize = cost; best = bits; }
             }
-            i = j;
         }
         return best;
     }
 
+    /**
+     * @return the number of values stored in the overflow table for this payload width
+     **/
+    public static int overflowCount(int[] lengthCounts, int payloadBits) {
+        int overflow = 0;
+        for (int bits = payloadBits + 1; bits <= WORD_BITS; bits++) {
+            overflow += lengthCounts[bits];
+        }
+        return overflow;
+    }
+
+    /**
+     * @return the length of the output of compress: header, overflow table and bitstream
+     **/
+    public static long packedWords(int[] lengthCounts, int size) {
+        int bits = findBitSize(lengthCounts, size);
+        return 3 + overflowCount(lengthCounts, bits) + ((long) size * (bits + 1) + WORD_BITS - 1) / WORD_BITS;
+    }
+
     @Override
     public void decompress(PackedData fromPackedData, UnpackedData toUnpackedData) {
         int[] packed = fromPackedData.getData();
@@ -153,42 +186,53 @@ public class BitpackingWithOverflow implements BitPacking {
         }
 
         toUnpackedData.setData(data);
-        this.lastPackedData = fromPackedData;
+        load(fromPackedData);
     }
 
     @Override
-    public int get(int index) {
-        int[] packed = lastPackedData.getData();
-        int storedPayloadBits = packed[0];
-        int overflowCount = packed[2];
+    public void load(PackedData fromPackedData) {
+        load(fromPackedData.getData(), 0, fromPackedData.getData().length);
+    }
 
-        int headerSize = 3 + overflowCount;
-        int[] bitstream = new int[packed.length - headerSize];
-        System.arraycopy(packed, headerSize, bitstream, 0, bitstream.length);
+    /**
+     * Reads the packed data where it is, the header included, without copying it
+     **/
+    @Override
+    public void load(int[] words, int offset, int length) {
+        this.packedWords = words;
+        this.packedOffset = offset;
+    }
 
-        List<Integer> overflow = new ArrayList<>(overflowCount);
-        for (int i = 0; i < overflowCount; i++) {
-            overflow.add(packed[3 + i]);
-        }
+    /**
+     * Reads the element in place: the overflow table and the bitstream are indexed
+     * directly in the packed array instead of being copied on every call
+     * @param index the position of the value
+     **/
+    @Override
+    public int get(int index) {
+        int[] packed = packedWords;
+        int start = packedOffset;
+        int storedPayloadBits = packed[start];
+        int headerSize = start + 3 + packed[start + 2];
 
         int bits = storedPayloadBits + 1;
-        int bitPosition = index * bits;
-        int wordIndex = bitPosition / WORD_BITS;
-        int bitOffset = bitPosition & 31;
+        long bitPosition = (long) index * bits;
+        int wordIndex = headerSize + (int) (bitPosition / WORD_BITS);
+        int bitOffset = (int) (bitPosition & 31);
         int mask = (1 << bits) - 1;
 
         int encoded;
         if (bitOffset + bits <= WORD_BITS) {
-            encoded = (bitstream[wordIndex] >>> bitOffset) & mask;
+            encoded = (packed[wordIndex] >>> bitOffset) & mask;
         } else {
-            int low = bitstream[wordIndex] >>> bitOffset;
-            int high = bitstream[wordIndex + 1] << (WORD_BITS - bitOffset);
+            int low = packed[wordIndex] >>> bitOffset;
+            int high = packed[wordIndex + 1] << (WORD_BITS - bitOffset);
             encoded = (low | high) & mask;
         }
 
         int flag = (encoded >>> storedPayloadBits) & 1;
         int payload = encoded & ((1 << storedPayloadBits) - 1);
-        return (flag == 0) ? payload : overflow.get(payload);
+        return (flag == 0) ? payload : packed[start + 3 + payload];
     }
 
     static {
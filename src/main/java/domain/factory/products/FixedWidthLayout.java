@@ -0,0 +1,95 @@
+package domain.factory.products;
+
+import domain.factory.CompressionTypeEnum;
+
+/**
+ * Direct access to the words produced by BitpackingAligned and BitpackingOverlapped
+ * Both share the header [16 bits = originalSize, 16 bits = bitsPerValue] followed by the packed values
+ **/
+public final class FixedWidthLayout {
+    public static final int HEADER_SIZE = 1;
+
+    private FixedWidthLayout() {}
+
+    public static boolean isAligned(CompressionTypeEnum type) {
+        return switch (type) {
+            case ALIGNED -> true;
+            case OVERLAPPED -> false;
+            default -> throw new IllegalArgumentException("Not a fixed-width layout: " + type);
+        };
+    }
+
+    public static int size(int[] words) {
+        return (words[0] >>> 16) & 0xFFFF;
+    }
+
+    public static int bits(int[] words) {
+        return words[0] & 0xFFFF;
+    }
+
+    public static int mask(int bits) {
+        return bits == 32 ? -1 : (1 << bits) - 1;
+    }
+
+    /**
+     * Number of words, header included, needed to pack size values of the given width
+     **/
+    public static int wordsFor(boolean aligned, int bits, int size) {
+        if (aligned) {
+            int valuesPerWord = 32 / bits;
+            return HEADER_SIZE + (size + valuesPerWord - 1) / valuesPerWord;
+        }
+        return HEADER_SIZE + (int) (((long) size * bits + 31) / 32);
+    }
+
+    public static int header(int size, int bits) {
+        return (size << 16) | bits;
+    }
+
+    /**
+     * Writes a value into zero-initialized words, as the compress methods do
+     **/
+    public static void write(int[] words, boolean aligned, int bits, int index, int value) {
+        value &= mask(bits);
+        if (aligned) {
+            int valuesPerWord = 32 / bits;
+            words[(index / valuesPerWord) + HEADER_SIZE] |= value << ((index % valuesPerWord) * bits);
+            return;
+        }
+
+        long bitPosition = (long) index * bits;
+        int wordIndex = (int) (bitPosition >>> 5) + HEADER_SIZE;
+        int bitOffset = (int) (bitPosition & 31);
+        words[wordIndex] |= value << bitOffset;
+        if (bitOffset + bits > 32) {
+            words[wordIndex + 1] |= value >>> (32 - bitOffset);
+        }
+    }
+
+    public static int read(int[] words, boolean aligned, int bits, int index) {
+        return read(words, HEADER_SIZE, aligned, bits, index);
+    }
+
+    /**
+     * Same as read for values packed without header from position start, e.g. inside a larger buffer
+     **/
+    public static int read(int[] words, int start, boolean aligned, int bits, int index) {
+        if (aligned) {
+            int valuesPerWord = 32 / bits;
+            int wordIndex = (index / valuesPerWord) + start;
+            int bitOffset = (index % valuesPerWord) * bits;
+            return (words[wordIndex] >>> bitOffset) & mask(bits);
+        }
+
+        long bitPosition = (long) index * bits;
+        int wordIndex = (int) (bitPosition >>> 5) + start;
+        int bitOffset = (int) (bitPosition & 31);
+        if (bitOffset + bits <= 32) {
+            return (words[wordIndex] >>> bitOffset) & mask(bits);
+        } else {
+            int low = words[wordIndex] >>> bitOffset;
+            int high = words[wordIndex + 1] << (32 - bitOffset);
+            return (low | high) & mask(bits);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package domain.factory.products;
+
+import domain.LongBitPacking;
+import domain.factory.CompressionTypeEnum;
+import domain.factory.LongBitPackingFactory;
+import domain.entities.LongPackedData;
+import domain.entities.LongUnpackedData;
+
+public class LongBitpackingAligned implements LongBitPacking {
+    private final CompressionTypeEnum TYPE = CompressionTypeEnum.ALIGNED;
+    private LongPackedData lastPackedData;
+
+    /**
+     * This method compresses data with aligned bit packing on 64-bit words (values never cross word boundaries)
+     * Format: [Header: 64 bits] [Compressed Data]
+     * Header: 32 bits = originalSize, 32 bits = bitsPerValue
+     * @param fromUnpackedData the data to compress
+     * @param toPackedData the compressed output
+     **/
+    @Override
+    public void compress(LongUnpackedData fromUnpackedData, LongPackedData toPackedData) {
+        int originalArrayLength = fromUnpackedData.getSize();
+        long[] values = fromUnpackedData.getData();
+        int maxBitsNeeded = this.calculateRequiredBits(fromUnpackedData.getMaxUnsignedValue());
+
+        int valuesPerWord = 64 / maxBitsNeeded;
+        int requiredWords = (originalArrayLength + valuesPerWord - 1) / valuesPerWord;
+
+        long[] compressedData = new long[requiredWords + 1];
+        compressedData[0] = ((long) originalArrayLength << 32) | maxBitsNeeded;
+
+        for (int i = 0; i < originalArrayLength; i++) {
+            int wordIndex = (i / valuesPerWord) + 1;
+            int bitOffset = (i % valuesPerWord) * maxBitsNeeded;
+            compressedData[wordIndex] |= values[i] << bitOffset;
+        }
+
+        toPackedData.setData(compressedData);
+        toPackedData.setOriginalSize(originalArrayLength);
+        toPackedData.setCompressedSize(requiredWords + 1);
+        toPackedData.setBitsPerValue(maxBitsNeeded);
+        this.lastPackedData = toPackedData;
+    }
+
+    /**
+     * This method decompresses aligned bit-packed data back to original longs
+     * @param fromPackedData the compressed data
+     * @param toUnpackedData the decompressed output
+     **/
+    @Override
+    public void decompress(LongPackedData fromPackedData, LongUnpackedData toUnpackedData) {
+        long[] words = fromPackedData.getData();
+        int originalArrayLength = (int) (words[0] >>> 32);
+        int maxBitsNeeded = (int) words[0];
+
+        long[] result = new long[originalArrayLength];
+        int valuesPerWord = 64 / maxBitsNeeded;
+        long mask = maxBitsNeeded == 64 ? -1L : (1L << maxBitsNeeded) - 1;
+
+        int outputIndex = 0;
+        for (int wordIndex = 1; outputIndex < originalArrayLength; wordIndex++) {
+            long currentWord = words[wordIndex];
+            int end = Math.min(originalArrayLength, outputIndex + valuesPerWord);
+            for (int bitOffset = 0; outputIndex < end; bitOffset += maxBitsNeeded) {
+                result[outputIndex++] = (currentWord >>> bitOffset) & mask;
+            }
+        }
+
+        toUnpackedData.setData(result);
+        this.lastPackedData = fromPackedData;
+    }
+
+    @Override
+    public long get(int index) {
+        long[] words = lastPackedData.getData();
+        int bitsPerValue = (int) words[0];
+
+        int valuesPerWord = 64 / bitsPerValue;
+        int wordIndex = (index / valuesPerWord) + 1;
+        int bitOffset = (index % valuesPerWord) * bitsPerValue;
+        long mask = bitsPerValue == 64 ? -1L : (1L << bitsPerValue) - 1;
+
+        return (words[wordIndex] >>> bitOffset) & mask;
+    }
+
+    static {
+        LongBitPackingFactory.getRegistry().register(
+                CompressionTypeEnum.ALIGNED, LongBitpackingAligned::new
+        );
+    }
+}
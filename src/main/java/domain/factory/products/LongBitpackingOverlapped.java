@@ -0,0 +1,96 @@
+package domain.factory.products;
+
+import domain.LongBitPacking;
+import domain.factory.CompressionTypeEnum;
+import domain.factory.LongBitPackingFactory;
+import domain.entities.LongPackedData;
+import domain.entities.LongUnpackedData;
+
+public class LongBitpackingOverlapped implements LongBitPacking {
+    private final CompressionTypeEnum TYPE = CompressionTypeEnum.OVERLAPPED;
+    private LongPackedData lastPackedData;
+
+    /**
+     * This method compresses data with unaligned bit packing on 64-bit words (values can span two words)
+     * Format: [Header: 64 bits] [Compressed Data]
+     * Header: 32 bits = originalSize, 32 bits = bitsPerValue
+     * @param fromUnpackedData the data to compress
+     * @param toPackedData the compressed output
+     **/
+    @Override
+    public void compress(LongUnpackedData fromUnpackedData, LongPackedData toPackedData) {
+        int originalArrayLength = fromUnpackedData.getSize();
+        long[] values = fromUnpackedData.getData();
+        int maxBitsNeeded = this.calculateRequiredBits(fromUnpackedData.getMaxUnsignedValue());
+        long totalBits = (long) originalArrayLength * maxBitsNeeded;
+        int requiredWords = (int) ((totalBits + 63) / 64);
+
+        long[] compressedData = new long[requiredWords + 1];
+        compressedData[0] = ((long) originalArrayLength << 32) | maxBitsNeeded;
+
+        long mask = maxBitsNeeded == 64 ? -1L : (1L << maxBitsNeeded) - 1;
+        long bitPosition = 0;
+
+        for (int i = 0; i < originalArrayLength; i++) {
+            long value = values[i] & mask;
+            int wordIndex = (int) (bitPosition >>> 6) + 1;
+            int bitOffset = (int) (bitPosition & 63);
+            int bitsRemainingInWord = 64 - bitOffset;
+
+            compressedData[wordIndex] |= value << bitOffset;
+            if (bitsRemainingInWord < maxBitsNeeded) {
+                compressedData[wordIndex + 1] |= value >>> bitsRemainingInWord;
+            }
+
+            bitPosition += maxBitsNeeded;
+        }
+
+        toPackedData.setData(compressedData);
+        toPackedData.setOriginalSize(originalArrayLength);
+        toPackedData.setCompressedSize(requiredWords + 1);
+        toPackedData.setBitsPerValue(maxBitsNeeded);
+        this.lastPackedData = toPackedData;
+    }
+
+    @Override
+    public void decompress(LongPackedData fromPackedData, LongUnpackedData toUnpackedData) {
+        long[] words = fromPackedData.getData();
+        int originalArrayLength = (int) (words[0] >>> 32);
+        int maxBitsNeeded = (int) words[0];
+
+        long[] result = new long[originalArrayLength];
+        for (int i = 0; i < originalArrayLength; i++) {
+            result[i] = read(words, maxBitsNeeded, i);
+        }
+
+        toUnpackedData.setData(result);
+        this.lastPackedData = fromPackedData;
+    }
+
+    @Override
+    public long get(int index) {
+        long[] words = lastPackedData.getData();
+        return read(words, (int) words[0], index);
+    }
+
+    private static long read(long[] words, int bits, int index) {
+        long bitPosition = (long) index * bits;
+        int wordIndex = (int) (bitPosition >>> 6) + 1;
+        int bitOffset = (int) (bitPosition & 63);
+        long mask = bits == 64 ? -1L : (1L << bits) - 1;
+
+        if (bitOffset + bits <= 64) {
+            return (words[wordIndex] >>> bitOffset) & mask;
+        } else {
+            long low = words[wordIndex] >>> bitOffset;
+            long high = words[wordIndex + 1] << (64 - bitOffset);
+            return (low | high) & mask;
+        }
+    }
+
+    static {
+        LongBitPackingFactory.getRegistry().register(
+                CompressionTypeEnum.OVERLAPPED, LongBitpackingOverlapped::new
+        );
+    }
+}
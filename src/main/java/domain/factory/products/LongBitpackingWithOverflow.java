@@ -0,0 +1,150 @@
+package domain.factory.products;
+
+import domain.LongBitPacking;
+import domain.factory.CompressionTypeEnum;
+import domain.factory.LongBitPackingFactory;
+import domain.entities.LongPackedData;
+import domain.entities.LongUnpackedData;
+
+import java.util.Arrays;
+
+public class LongBitpackingWithOverflow implements LongBitPacking {
+    private static final CompressionTypeEnum TYPE = CompressionTypeEnum.OVERFLOW;
+    private static final int WORD_BITS = 64;
+    private static final int MAX_PAYLOAD_BITS = WORD_BITS - 1;
+    private LongPackedData lastPackedData;
+
+    /**
+     * This method compresses data with a reduced width and an overflow table for the larger values
+     * Format: [payloadBits] [originalSize] [overflowCount] [Overflow Table] [Compressed Data]
+     * Each element is a 1-bit flag followed by the value or, when flagged, its index in the overflow table
+     * @param fromUnpackedData the data to compress
+     * @param toPackedData the compressed output
+     **/
+    @Override
+    public void compress(LongUnpackedData fromUnpackedData, LongPackedData toPackedData) {
+        long[] originalArray = fromUnpackedData.getData();
+        int originalArrayLength = fromUnpackedData.getSize();
+        int[] bitLengths = new int[originalArrayLength];
+        for (int i = 0; i < originalArrayLength; i++) {
+            bitLengths[i] = this.calculateRequiredBits(originalArray[i]);
+        }
+
+        int payloadBits = findBitSize(bitLengths);
+        int elementBits = payloadBits + 1;
+        long maxPayloadValue = (1L << payloadBits) - 1;
+
+        int overflowCount = 0;
+        for (long value : originalArray) {
+            if (Long.compareUnsigned(value, maxPayloadValue) > 0) overflowCount++;
+        }
+
+        int headerSize = 3 + overflowCount;
+        long totalBits = (long) originalArrayLength * elementBits;
+        int requiredWords = (int) ((totalBits + WORD_BITS - 1) / WORD_BITS);
+        long[] finalData = new long[headerSize + requiredWords];
+        finalData[0] = payloadBits;
+        finalData[1] = originalArrayLength;
+        finalData[2] = overflowCount;
+
+        int overflowIndex = 0;
+        long bitPosition = 0;
+
+        for (long value : originalArray) {
+            long encoded;
+            if (Long.compareUnsigned(value, maxPayloadValue) <= 0) { // flag = 0
+                encoded = value;
+            } else { // flag = 1 -> value in overflow
+                finalData[3 + overflowIndex] = value;
+                encoded = (1L << payloadBits) | overflowIndex++;
+            }
+
+            int wordIndex = headerSize + (int) (bitPosition >>> 6);
+            int bitOffset = (int) (bitPosition & 63);
+            int bitsLeft = WORD_BITS - bitOffset;
+
+            finalData[wordIndex] |= encoded << bitOffset;
+            if (bitsLeft < elementBits) {
+                finalData[wordIndex + 1] |= encoded >>> bitsLeft;
+            }
+
+            bitPosition += elementBits;
+        }
+
+        toPackedData.setData(finalData);
+        toPackedData.setOriginalSize(originalArrayLength);
+        toPackedData.setCompressedSize(finalData.length);
+        toPackedData.setBitsPerValue(elementBits);
+        this.lastPackedData = toPackedData;
+    }
+
+    /**
+     * The payload is limited to 63 bits so that the flag still fits in a 64-bit element
+     **/
+    private int findBitSize(int[] bitLengths) {
+        Arrays.sort(bitLengths);
+        int total = bitLengths.length, best = Math.min(bitLengths[total - 1], MAX_PAYLOAD_BITS);
+        long minSize = Long.MAX_VALUE;
+
+        for (int i = 0; i < total; ) {
+            int bits = bitLengths[i];
+            int j = i;
+            while (j < total && bitLengths[j] == bits) j++;
+            int overflow = total - j;
+            if (bits <= MAX_PAYLOAD_BITS && (overflow == 0 || overflow <= (1L << bits))) {
+                long size = (long) total * (1 + bits) + (long) overflow * WORD_BITS;
+                if (size < minSize) { minSize = size; best = bits; }
+            }
+            i = j;
+        }
+        return best;
+    }
+
+    @Override
+    public void decompress(LongPackedData fromPackedData, LongUnpackedData toUnpackedData) {
+        long[] packed = fromPackedData.getData();
+        int originalSize = (int) packed[1];
+
+        long[] data = new long[originalSize];
+        for (int i = 0; i < originalSize; i++) {
+            data[i] = read(packed, i);
+        }
+
+        toUnpackedData.setData(data);
+        this.lastPackedData = fromPackedData;
+    }
+
+    @Override
+    public long get(int index) {
+        return read(lastPackedData.getData(), index);
+    }
+
+    private static long read(long[] packed, int index) {
+        int payloadBits = (int) packed[0];
+        int headerSize = 3 + (int) packed[2];
+        int bits = payloadBits + 1;
+
+        long bitPosition = (long) index * bits;
+        int wordIndex = headerSize + (int) (bitPosition >>> 6);
+        int bitOffset = (int) (bitPosition & 63);
+        long mask = bits == WORD_BITS ? -1L : (1L << bits) - 1;
+
+        long encoded;
+        if (bitOffset + bits <= WORD_BITS) {
+            encoded = (packed[wordIndex] >>> bitOffset) & mask;
+        } else {
+            long low = packed[wordIndex] >>> bitOffset;
+            long high = packed[wordIndex + 1] << (WORD_BITS - bitOffset);
+            encoded = (low | high) & mask;
+        }
+
+        long payload = encoded & ((1L << payloadBits) - 1);
+        return (encoded >>> payloadBits) == 0 ? payload : packed[3 + (int) payload];
+    }
+
+    static {
+        LongBitPackingFactory.getRegistry().register(
+                CompressionTypeEnum.OVERFLOW, LongBitpackingWithOverflow::new
+        );
+    }
+}
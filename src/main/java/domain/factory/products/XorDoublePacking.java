@@ -0,0 +1,181 @@
+package domain.factory.products;
+
+import domain.DoublePacking;
+import domain.entities.DoublePackedData;
+import domain.entities.DoubleUnpackedData;
+
+import java.util.Arrays;
+
+public class XorDoublePacking implements DoublePacking {
+    public static final int DEFAULT_BLOCK_SIZE = 128;
+    private static final int WORD_BITS = 64;
+    private final int blockSize;
+    private DoublePackedData lastPackedData;
+
+    public XorDoublePacking() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param blockSize number of values per independently decodable block
+     **/
+    public XorDoublePacking(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * This method compresses doubles by XOR-ing each IEEE-754 value with the previous one (Gorilla encoding)
+     * Each block starts with a raw 64-bit value, then every value is encoded as:
+     * '0' when equal to the previous value,
+     * '10' + meaningful bits when the XOR fits in the previous leading/trailing zero window,
+     * '11' + 5 bits leading zeros + 6 bits (length - 1) + meaningful bits otherwise
+     * Format: [Header: 32 bits = originalSize, 32 bits = blockSize] [Block Bit Offsets] [Payload]
+     * @param fromUnpackedData the data to compress
+     * @param toPackedData the compressed output
+     **/
+    @Override
+    public void compress(DoubleUnpackedData fromUnpackedData, DoublePackedData toPackedData) {
+        double[] values = fromUnpackedData.getData();
+        int originalSize = fromUnpackedData.getSize();
+        int blockCount = (originalSize + blockSize - 1) / blockSize;
+        int payloadStart = 1 + blockCount;
+
+        long maxBits = (long) originalSize * (2 + 5 + 6 + WORD_BITS);
+        long[] words = new long[payloadStart + (int) ((maxBits + WORD_BITS - 1) / WORD_BITS)];
+        words[0] = ((long) originalSize << 32) | blockSize;
+
+        long position = 0;
+        for (int block = 0; block < blockCount; block++) {
+            int start = block * blockSize;
+            int end = Math.min(originalSize, start + blockSize);
+            words[1 + block] = position;
+
+            long previous = Double.doubleToRawLongBits(values[start]);
+            position = write(words, payloadStart, position, previous, WORD_BITS);
+            int previousLeading = -1;
+            int previousTrailing = 0;
+
+            for (int i = start + 1; i < end; i++) {
+                long current = Double.doubleToRawLongBits(values[i]);
+                long xor = current ^ previous;
+                previous = current;
+
+                if (xor == 0) {
+                    position = write(words, payloadStart, position, 0, 1);
+                    continue;
+                }
+
+                int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+                int trailing = Long.numberOfTrailingZeros(xor);
+                if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                    int length = WORD_BITS - previousLeading - previousTrailing;
+                    position = write(words, payloadStart, position, 0b01, 2);
+                    position = write(words, payloadStart, position, xor >>> previousTrailing, length);
+                } else {
+                    int length = WORD_BITS - leading - trailing;
+                    position = write(words, payloadStart, position, 0b11, 2);
+                    position = write(words, payloadStart, position, leading, 5);
+                    position = write(words, payloadStart, position, length - 1, 6);
+                    position = write(words, payloadStart, position, xor >>> trailing, length);
+                    previousLeading = leading;
+                    previousTrailing = trailing;
+                }
+            }
+        }
+
+        long[] compressedData = Arrays.copyOf(words, payloadStart + (int) ((position + WORD_BITS - 1) / WORD_BITS));
+        toPackedData.setData(compressedData);
+        toPackedData.setOriginalSize(originalSize);
+        toPackedData.setCompressedSize(compressedData.length);
+        this.lastPackedData = toPackedData;
+    }
+
+    @Override
+    public void decompress(DoublePackedData fromPackedData, DoubleUnpackedData toUnpackedData) {
+        long[] words = fromPackedData.getData();
+        int originalSize = (int) (words[0] >>> 32);
+        int storedBlockSize = (int) words[0];
+
+        double[] result = new double[originalSize];
+        for (int start = 0; start < originalSize; start += storedBlockSize) {
+            decodeBlock(words, start / storedBlockSize, result, start, Math.min(storedBlockSize, originalSize - start));
+        }
+
+        toUnpackedData.setData(result);
+        this.lastPackedData = fromPackedData;
+    }
+
+    /**
+     * Random access: only the block containing the index is decoded, up to the index
+     * @param index the position of the value
+     **/
+    @Override
+    public double get(int index) {
+        long[] words = lastPackedData.getData();
+        int storedBlockSize = (int) words[0];
+        int block = index / storedBlockSize;
+        long bits = decodeBlock(words, block, null, 0, index - block * storedBlockSize + 1);
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * Decodes the first count values of a block into target, or only returns the last one when target is null
+     * @return the raw bits of the last decoded value
+     **/
+    private static long decodeBlock(long[] words, int block, double[] target, int targetOffset, int count) {
+        int originalSize = (int) (words[0] >>> 32);
+        int storedBlockSize = (int) words[0];
+        int payloadStart = 1 + (originalSize + storedBlockSize - 1) / storedBlockSize;
+        long position = words[1 + block];
+
+        long previous = read(words, payloadStart, position, WORD_BITS);
+        position += WORD_BITS;
+        if (target != null) target[targetOffset] = Double.longBitsToDouble(previous);
+        int leading = 0;
+        int trailing = 0;
+
+        for (int k = 1; k < count; k++) {
+            if (read(words, payloadStart, position++, 1) != 0) {
+                if (read(words, payloadStart, position++, 1) != 0) {
+                    leading = (int) read(words, payloadStart, position, 5);
+                    int length = (int) read(words, payloadStart, position + 5, 6) + 1;
+                    trailing = WORD_BITS - leading - length;
+                    position += 11;
+                }
+                int length = WORD_BITS - leading - trailing;
+                previous ^= read(words, payloadStart, position, length) << trailing;
+                position += length;
+            }
+            if (target != null) target[targetOffset + k] = Double.longBitsToDouble(previous);
+        }
+        return previous;
+    }
+
+    private static long write(long[] words, int start, long position, long value, int bits) {
+        if (bits < WORD_BITS) value &= (1L << bits) - 1;
+        int wordIndex = start + (int) (position >>> 6);
+        int bitOffset = (int) (position & 63);
+        words[wordIndex] |= value << bitOffset;
+        if (bitOffset + bits > WORD_BITS) {
+            words[wordIndex + 1] |= value >>> (WORD_BITS - bitOffset);
+        }
+        return position + bits;
+    }
+
+    private static long read(long[] words, int start, long position, int bits) {
+        int wordIndex = start + (int) (position >>> 6);
+        int bitOffset = (int) (position & 63);
+        long mask = bits == WORD_BITS ? -1L : (1L << bits) - 1;
+
+        if (bitOffset + bits <= WORD_BITS) {
+            return (words[wordIndex] >>> bitOffset) & mask;
+        } else {
+            long low = words[wordIndex] >>> bitOffset;
+            long high = words[wordIndex + 1] << (WORD_BITS - bitOffset);
+            return (low | high) & mask;
+        }
+    }
+}
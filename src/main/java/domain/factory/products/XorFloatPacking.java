@@ -0,0 +1,190 @@
+package domain.factory.products;
+
+import domain.FloatPacking;
+import domain.entities.FloatPackedData;
+import domain.entities.FloatUnpackedData;
+import domain.exception.CompressionException;
+
+import java.util.Arrays;
+
+public class XorFloatPacking implements FloatPacking {
+    public static final int DEFAULT_BLOCK_SIZE = 128;
+    private static final int WORD_BITS = 32;
+    // code '11', zéros de tête, longueur et 32 bits significatifs au plus
+    private static final int MAX_ENCODED_BITS = 2 + 5 + 5 + WORD_BITS;
+    private final int blockSize;
+    private FloatPackedData lastPackedData;
+
+    public XorFloatPacking() {
+        this(DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * @param blockSize number of values per independently decodable block
+     **/
+    public XorFloatPacking(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * This method compresses floats by XOR-ing each IEEE-754 value with the previous one (Gorilla encoding)
+     * Each block starts with a raw 32-bit value, then every value is encoded as:
+     * '0' when equal to the previous value,
+     * '10' + meaningful bits when the XOR fits in the previous leading/trailing zero window,
+     * '11' + 5 bits leading zeros + 5 bits (length - 1) + meaningful bits otherwise
+     * Format: [originalSize] [blockSize] [Block Bit Offsets] [Payload]
+     * The payload is limited to 2^31 bits since the block offsets are stored as int
+     * @param fromUnpackedData the data to compress
+     * @param toPackedData the compressed output
+     **/
+    @Override
+    public void compress(FloatUnpackedData fromUnpackedData, FloatPackedData toPackedData) {
+        float[] values = fromUnpackedData.getData();
+        int originalSize = fromUnpackedData.getSize();
+        int blockCount = (originalSize + blockSize - 1) / blockSize;
+        int payloadStart = 2 + blockCount;
+
+        long maxBits = (long) originalSize * MAX_ENCODED_BITS;
+        int[] words = new int[payloadStart + (int) ((maxBits + WORD_BITS - 1) / WORD_BITS)];
+        words[0] = originalSize;
+        words[1] = blockSize;
+
+        int position = 0;
+        for (int block = 0; block < blockCount; block++) {
+            int start = block * blockSize;
+            int end = Math.min(originalSize, start + blockSize);
+            // les offsets de blocs sont des int : le flux ne peut pas dépasser 2^31 bits
+            if (position + WORD_BITS + (long) (end - start - 1) * MAX_ENCODED_BITS > Integer.MAX_VALUE) {
+                throw new CompressionException("XOR payload may exceed 2^31 bits at index " + start);
+            }
+            words[2 + block] = position;
+
+            int previous = Float.floatToRawIntBits(values[start]);
+            position = write(words, payloadStart, position, previous, WORD_BITS);
+            int previousLeading = -1;
+            int previousTrailing = 0;
+
+            for (int i = start + 1; i < end; i++) {
+                int current = Float.floatToRawIntBits(values[i]);
+                int xor = current ^ previous;
+                previous = current;
+
+                if (xor == 0) {
+                    position = write(words, payloadStart, position, 0, 1);
+                    continue;
+                }
+
+                int leading = Integer.numberOfLeadingZeros(xor);
+                int trailing = Integer.numberOfTrailingZeros(xor);
+                if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                    int length = WORD_BITS - previousLeading - previousTrailing;
+                    position = write(words, payloadStart, position, 0b01, 2);
+                    position = write(words, payloadStart, position, xor >>> previousTrailing, length);
+                } else {
+                    int length = WORD_BITS - leading - trailing;
+                    position = write(words, payloadStart, position, 0b11, 2);
+                    position = write(words, payloadStart, position, leading, 5);
+                    position = write(words, payloadStart, position, length - 1, 5);
+                    position = write(words, payloadStart, position, xor >>> trailing, length);
+                    previousLeading = leading;
+                    previousTrailing = trailing;
+                }
+            }
+        }
+
+        int[] compressedData = Arrays.copyOf(words, payloadStart + (position + WORD_BITS - 1) / WORD_BITS);
+        toPackedData.setData(compressedData);
+        toPackedData.setOriginalSize(originalSize);
+        toPackedData.setCompressedSize(compressedData.length);
+        this.lastPackedData = toPackedData;
+    }
+
+    @Override
+    public void decompress(FloatPackedData fromPackedData, FloatUnpackedData toUnpackedData) {
+        int[] words = fromPackedData.getData();
+        int originalSize = words[0];
+        int storedBlockSize = words[1];
+
+        float[] result = new float[originalSize];
+        for (int start = 0; start < originalSize; start += storedBlockSize) {
+            decodeBlock(words, start / storedBlockSize, result, start, Math.min(storedBlockSize, originalSize - start));
+        }
+
+        toUnpackedData.setData(result);
+        this.lastPackedData = fromPackedData;
+    }
+
+    /**
+     * Random access: only the block containing the index is decoded, up to the index
+     * @param index the position of the value
+     **/
+    @Override
+    public float get(int index) {
+        int[] words = lastPackedData.getData();
+        int storedBlockSize = words[1];
+        int block = index / storedBlockSize;
+        int bits = decodeBlock(words, block, null, 0, index - block * storedBlockSize + 1);
+        return Float.intBitsToFloat(bits);
+    }
+
+    /**
+     * Decodes the first count values of a block into target, or only returns the last one when target is null
+     * @return the raw bits of the last decoded value
+     **/
+    private static int decodeBlock(int[] words, int block, float[] target, int targetOffset, int count) {
+        int originalSize = words[0];
+        int storedBlockSize = words[1];
+        int payloadStart = 2 + (originalSize + storedBlockSize - 1) / storedBlockSize;
+        int position = words[2 + block];
+
+        int previous = read(words, payloadStart, position, WORD_BITS);
+        position += WORD_BITS;
+        if (target != null) target[targetOffset] = Float.intBitsToFloat(previous);
+        int leading = 0;
+        int trailing = 0;
+
+        for (int k = 1; k < count; k++) {
+            if (read(words, payloadStart, position++, 1) != 0) {
+                if (read(words, payloadStart, position++, 1) != 0) {
+                    leading = read(words, payloadStart, position, 5);
+                    int length = read(words, payloadStart, position + 5, 5) + 1;
+                    trailing = WORD_BITS - leading - length;
+                    position += 10;
+                }
+                int length = WORD_BITS - leading - trailing;
+                previous ^= read(words, payloadStart, position, length) << trailing;
+                position += length;
+            }
+            if (target != null) target[targetOffset + k] = Float.intBitsToFloat(previous);
+        }
+        return previous;
+    }
+
+    private static int write(int[] words, int start, int position, int value, int bits) {
+        if (bits < WORD_BITS) value &= (1 << bits) - 1;
+        int wordIndex = start + (position >>> 5);
+        int bitOffset = position & 31;
+        words[wordIndex] |= value << bitOffset;
+        if (bitOffset + bits > WORD_BITS) {
+            words[wordIndex + 1] |= value >>> (WORD_BITS - bitOffset);
+        }
+        return position + bits;
+    }
+
+    private static int read(int[] words, int start, int position, int bits) {
+        int wordIndex = start + (position >>> 5);
+        int bitOffset = position & 31;
+        int mask = bits == WORD_BITS ? -1 : (1 << bits) - 1;
+
+        if (bitOffset + bits <= WORD_BITS) {
+            return (words[wordIndex] >>> bitOffset) & mask;
+        } else {
+            int low = words[wordIndex] >>> bitOffset;
+            int high = words[wordIndex + 1] << (WORD_BITS - bitOffset);
+            return (low | high) & mask;
+        }
+    }
+}
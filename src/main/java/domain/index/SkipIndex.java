@@ -0,0 +1,83 @@
+package domain.index;
+
+/**
+ * Sampled entry points into a variable-width bit stream.
+ * Every interval values, the index records the bit offset where the block starts
+ * and the running base (the decoded value at that position), so a codec reaches any
+ * index by decoding at most interval values from the nearest entry.
+ * Format: [interval] [entryCount] then [bitOffset, base] for each entry.
+ * The index can be written next to the payload in the same int[] and read back in place.
+ **/
+public final class SkipIndex {
+    public static final int DEFAULT_INTERVAL = 128;
+    private static final int HEADER_SIZE = 2;
+
+    private final int[] storage;
+    private final int offset;
+
+    private SkipIndex(int[] storage, int offset) {
+        this.storage = storage;
+        this.offset = offset;
+    }
+
+    public static SkipIndex allocate(int interval, int valueCount) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Skip interval must be positive: " + interval);
+        }
+        int[] storage = new int[sizeFor(interval, valueCount)];
+        storage[0] = interval;
+        storage[1] = entryCount(interval, valueCount);
+        return new SkipIndex(storage, 0);
+    }
+
+    /**
+     * Reads an index previously copied into a larger array, without copying it
+     **/
+    public static SkipIndex wrap(int[] storage, int offset) {
+        return new SkipIndex(storage, offset);
+    }
+
+    public static int sizeFor(int interval, int valueCount) {
+        return HEADER_SIZE + 2 * entryCount(interval, valueCount);
+    }
+
+    private static int entryCount(int interval, int valueCount) {
+        return (valueCount + interval - 1) / interval;
+    }
+
+    public int interval() {
+        return storage[offset];
+    }
+
+    public int entryCount() {
+        return storage[offset + 1];
+    }
+
+    /**
+     * @return the number of ints occupied by the index
+     **/
+    public int length() {
+        return HEADER_SIZE + 2 * entryCount();
+    }
+
+    public int entryFor(int index) {
+        return index / interval();
+    }
+
+    public void set(int entry, int bitOffset, int base) {
+        storage[offset + HEADER_SIZE + 2 * entry] = bitOffset;
+        storage[offset + HEADER_SIZE + 2 * entry + 1] = base;
+    }
+
+    public int bitOffset(int entry) {
+        return storage[offset + HEADER_SIZE + 2 * entry];
+    }
+
+    public int base(int entry) {
+        return storage[offset + HEADER_SIZE + 2 * entry + 1];
+    }
+
+    public void copyTo(int[] target, int targetOffset) {
+        System.arraycopy(storage, offset, target, targetOffset, length());
+    }
+}
@@ -0,0 +1,175 @@
+package domain.monitoring;
+
+import domain.factory.CompressionTypeEnum;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * JMX view of the codec activity recorded by InstrumentedBitPacking.
+ * Counters are LongAdders so that concurrent codecs do not contend on a shared field.
+ * The single instance is registered as data-compressor:type=CodecMetrics on first use.
+ **/
+public final class CodecMetrics implements CodecMetricsMXBean {
+    public static final String OBJECT_NAME = "data-compressor:type=CodecMetrics";
+    private static final int BUCKETS = 33;
+    private static final CodecMetrics INSTANCE = register(new CodecMetrics());
+
+    private final Map<CompressionTypeEnum, Counters> counters = new EnumMap<>(CompressionTypeEnum.class);
+
+    private CodecMetrics() {
+        for (CompressionTypeEnum type : CompressionTypeEnum.values()) {
+            counters.put(type, new Counters());
+        }
+    }
+
+    public static CodecMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    private static CodecMetrics register(CodecMetrics metrics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // déjà enregistré par un autre chargeur de classes
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+        return metrics;
+    }
+
+    void recordCompress(CompressionTypeEnum type, int elementCount, int bitsPerValue, int overflowCount, long nanos) {
+        Counters c = counters.get(type);
+        c.compressCalls.increment();
+        c.compressNanos.add(nanos);
+        c.compressedValues.add(elementCount);
+        c.overflowValues.add(overflowCount);
+        c.elementCounts[bucket(elementCount)].increment();
+        c.bitsPerValue[Math.min(bitsPerValue, BUCKETS - 1)].increment();
+    }
+
+    void recordDecompress(CompressionTypeEnum type, long nanos) {
+        Counters c = counters.get(type);
+        c.decompressCalls.increment();
+        c.decompressNanos.add(nanos);
+    }
+
+    void recordGet(CompressionTypeEnum type, int valueCount) {
+        Counters c = counters.get(type);
+        c.getCalls.increment();
+        c.readValues.add(valueCount);
+    }
+
+    @Override
+    public Map<String, Long> getCompressCalls() {
+        return sums(c -> c.compressCalls);
+    }
+
+    @Override
+    public Map<String, Long> getDecompressCalls() {
+        return sums(c -> c.decompressCalls);
+    }
+
+    @Override
+    public Map<String, Long> getGetCalls() {
+        return sums(c -> c.getCalls);
+    }
+
+    @Override
+    public Map<String, Long> getReadValues() {
+        return sums(c -> c.readValues);
+    }
+
+    @Override
+    public Map<String, Long> getCompressNanos() {
+        return sums(c -> c.compressNanos);
+    }
+
+    @Override
+    public Map<String, Long> getDecompressNanos() {
+        return sums(c -> c.decompressNanos);
+    }
+
+    @Override
+    public Map<String, Long> getCompressedValues() {
+        return sums(c -> c.compressedValues);
+    }
+
+    @Override
+    public Map<String, Long> getOverflowValues() {
+        return sums(c -> c.overflowValues);
+    }
+
+    @Override
+    public Map<String, long[]> getElementCountHistograms() {
+        return histograms(c -> c.elementCounts);
+    }
+
+    @Override
+    public Map<String, long[]> getBitsPerValueHistograms() {
+        return histograms(c -> c.bitsPerValue);
+    }
+
+    @Override
+    public void reset() {
+        counters.values().forEach(Counters::reset);
+    }
+
+    private Map<String, Long> sums(Function<Counters, LongAdder> adder) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counters.forEach((type, c) -> result.put(type.name(), adder.apply(c).sum()));
+        return result;
+    }
+
+    private Map<String, long[]> histograms(Function<Counters, LongAdder[]> histogram) {
+        Map<String, long[]> result = new LinkedHashMap<>();
+        counters.forEach((type, c) -> {
+            LongAdder[] buckets = histogram.apply(c);
+            long[] values = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) values[i] = buckets[i].sum();
+            result.put(type.name(), values);
+        });
+        return result;
+    }
+
+    private static int bucket(int value) {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(value, 0));
+    }
+
+    private static final class Counters {
+        final LongAdder compressCalls = new LongAdder();
+        final LongAdder decompressCalls = new LongAdder();
+        final LongAdder getCalls = new LongAdder();
+        final LongAdder readValues = new LongAdder();
+        final LongAdder compressNanos = new LongAdder();
+        final LongAdder decompressNanos = new LongAdder();
+        final LongAdder compressedValues = new LongAdder();
+        final LongAdder overflowValues = new LongAdder();
+        final LongAdder[] elementCounts = adders();
+        final LongAdder[] bitsPerValue = adders();
+
+        private static LongAdder[] adders() {
+            LongAdder[] adders = new LongAdder[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) adders[i] = new LongAdder();
+            return adders;
+        }
+
+        void reset() {
+            for (LongAdder adder : new LongAdder[]{compressCalls, decompressCalls, getCalls, readValues,
+                    compressNanos, decompressNanos, compressedValues, overflowValues}) {
+                adder.reset();
+            }
+            for (int i = 0; i < BUCKETS; i++) {
+                elementCounts[i].reset();
+                bitsPerValue[i].reset();
+            }
+        }
+    }
+}
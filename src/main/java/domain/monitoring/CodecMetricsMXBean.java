@@ -0,0 +1,25 @@
+package domain.monitoring;
+
+import java.util.Map;
+
+/**
+ * Aggregated codec activity per CompressionTypeEnum name.
+ * Element count histograms use log2 buckets: bucket k counts calls whose count v satisfies 2^(k-1) <= v < 2^k
+ * (bucket 0 holds v = 0). Bits per value histograms are indexed by the width itself, bucket 32 holding 32 bits and more.
+ * Get calls count both single and bulk reads, read values the number of values they returned.
+ **/
+public interface CodecMetricsMXBean {
+
+    Map<String, Long> getCompressCalls();
+    Map<String, Long> getDecompressCalls();
+    Map<String, Long> getGetCalls();
+    Map<String, Long> getReadValues();
+    Map<String, Long> getCompressNanos();
+    Map<String, Long> getDecompressNanos();
+    Map<String, Long> getCompressedValues();
+    Map<String, Long> getOverflowValues();
+    Map<String, long[]> getElementCountHistograms();
+    Map<String, long[]> getBitsPerValueHistograms();
+
+    void reset();
+}
@@ -0,0 +1,30 @@
+package domain.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("datacompressor.Compress")
+@Label("Compress")
+@Category("Data Compressor")
+@Description("One call to BitPacking.compress")
+class CompressEvent extends Event {
+    @Label("Codec")
+    String codec;
+
+    @Label("Element Count")
+    int elementCount;
+
+    @Label("Bits Per Value")
+    int bitsPerValue;
+
+    @Label("Overflow Count")
+    int overflowCount;
+
+    @Label("Packed Size")
+    @DataAmount(DataAmount.BYTES)
+    long packedBytes;
+}
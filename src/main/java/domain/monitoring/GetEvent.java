@@ -0,0 +1,27 @@
+package domain.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Disabled by default: get is called millions of times per second, enable it explicitly in the recording settings
+ **/
+@Name("datacompressor.Get")
+@Label("Get")
+@Category("Data Compressor")
+@Description("One call to BitPacking.get, for a single value or a range")
+@Enabled(false)
+class GetEvent extends Event {
+    @Label("Codec")
+    String codec;
+
+    @Label("Index")
+    int index;
+
+    @Label("Length")
+    int length;
+}
@@ -0,0 +1,142 @@
+package domain.monitoring;
+
+import domain.BitPacking;
+import domain.entities.PackedData;
+import domain.entities.UnpackedData;
+import domain.factory.CompressionTypeEnum;
+
+/**
+ * Records JFR events and CodecMetrics counters around a BitPacking implementation.
+ * BitPackingFactory wraps its products with it when the datacompressor.monitoring system property is true,
+ * otherwise codecs are returned as is and monitoring costs nothing.
+ **/
+public class InstrumentedBitPacking implements BitPacking {
+    public static final String ENABLED_PROPERTY = "datacompressor.monitoring";
+
+    private final CompressionTypeEnum type;
+    private final BitPacking delegate;
+    private final CodecMetrics metrics = CodecMetrics.getInstance();
+
+    public InstrumentedBitPacking(CompressionTypeEnum type, BitPacking delegate) {
+        this.type = type;
+        this.delegate = delegate;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    @Override
+    public void compress(UnpackedData fromUnpackedData, PackedData toPackedData) {
+        CompressEvent event = new CompressEvent();
+        event.begin();
+        long start = System.nanoTime();
+        delegate.compress(fromUnpackedData, toPackedData);
+        long nanos = System.nanoTime() - start;
+        event.end();
+
+        int overflowCount = overflowCount(toPackedData);
+        metrics.recordCompress(type, fromUnpackedData.getSize(), toPackedData.getBitsPerValue(), overflowCount, nanos);
+        if (event.shouldCommit()) {
+            event.codec = type.name();
+            event.elementCount = fromUnpackedData.getSize();
+            event.bitsPerValue = toPackedData.getBitsPerValue();
+            event.overflowCount = overflowCount;
+            event.packedBytes = 4L * toPackedData.getData().length;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void decompress(PackedData fromPackedData, UnpackedData toUnpackedData) {
+        DecompressEvent event = new DecompressEvent();
+        event.begin();
+        long start = System.nanoTime();
+        delegate.decompress(fromPackedData, toUnpackedData);
+        long nanos = System.nanoTime() - start;
+        event.end();
+
+        metrics.recordDecompress(type, nanos);
+        if (event.shouldCommit()) {
+            event.codec = type.name();
+            event.elementCount = toUnpackedData.getSize();
+            event.bitsPerValue = bitsPerValue(fromPackedData);
+            event.overflowCount = overflowCount(fromPackedData);
+            event.packedBytes = 4L * fromPackedData.getData().length;
+            event.commit();
+        }
+    }
+
+    @Override
+    public int get(int index) {
+        metrics.recordGet(type, 1);
+        GetEvent event = new GetEvent();
+        if (!event.isEnabled()) {
+            return delegate.get(index);
+        }
+        event.begin();
+        int value = delegate.get(index);
+        event.end();
+        if (event.shouldCommit()) {
+            event.codec = type.name();
+            event.index = index;
+            event.length = 1;
+            event.commit();
+        }
+        return value;
+    }
+
+    @Override
+    public void get(int from, int[] target, int targetOffset, int length) {
+        metrics.recordGet(type, length);
+        GetEvent event = new GetEvent();
+        if (!event.isEnabled()) {
+            delegate.get(from, target, targetOffset, length);
+            return;
+        }
+        event.begin();
+        delegate.get(from, target, targetOffset, length);
+        event.end();
+        if (event.shouldCommit()) {
+            event.codec = type.name();
+            event.index = from;
+            event.length = length;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void load(PackedData fromPackedData) {
+        delegate.load(fromPackedData);
+    }
+
+    @Override
+    public void load(int[] words, int offset, int length) {
+        delegate.load(words, offset, length);
+    }
+
+    public BitPacking getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Data read back from disk carries no bitsPerValue, so the width is taken from the packed header
+     * of the fixed-width layouts, or averaged over the packed words for the variable-width ones
+     **/
+    private int bitsPerValue(PackedData packedData) {
+        int[] data = packedData.getData();
+        return switch (type) {
+            case ALIGNED, OVERLAPPED -> data[0] & 0xFFFF;
+            case OVERFLOW -> data[0] + 1;
+            case ELIAS_FANO -> data[1] + 2;
+            default -> data[0] == 0 ? 0 : (int) Math.ceil(32.0 * data.length / data[0]);
+        };
+    }
+
+    /**
+     * Only BitpackingWithOverflow has an overflow table, its size is the third header word
+     **/
+    private int overflowCount(PackedData packedData) {
+        return type == CompressionTypeEnum.OVERFLOW ? packedData.getData()[2] : 0;
+    }
+}
@@ -0,0 +1,125 @@
+package domain.operations;
+
+import domain.entities.PackedData;
+import domain.exception.CompressionException;
+import domain.factory.CompressionTypeEnum;
+import domain.factory.products.FixedWidthLayout;
+
+import java.util.List;
+
+/**
+ * Concatenates data packed by BitpackingAligned or BitpackingOverlapped without decoding it.
+ * The result uses the largest width of the parts: parts of that width are spliced word by word
+ * with shifts, narrower parts are widened value by value straight into the output words.
+ **/
+public final class PackedConcatenation {
+    private static final int MAX_SIZE = 0xFFFF;
+
+    private PackedConcatenation() {}
+
+    public static PackedData concat(CompressionTypeEnum type, PackedData... parts) {
+        return concat(type, List.of(parts));
+    }
+
+    /**
+     * @param type the layout of every part, ALIGNED or OVERLAPPED, also used for the result
+     * @param parts the packed segments, in order
+     * @return a single packed array holding the values of all parts
+     **/
+    public static PackedData concat(CompressionTypeEnum type, List<PackedData> parts) {
+        boolean aligned = FixedWidthLayout.isAligned(type);
+        if (parts.isEmpty()) {
+            throw new IllegalArgumentException("At least one part is required");
+        }
+
+        int totalSize = 0;
+        int bits = 1;
+        for (PackedData part : parts) {
+            totalSize += FixedWidthLayout.size(part.getData());
+            bits = Math.max(bits, FixedWidthLayout.bits(part.getData()));
+        }
+        if (totalSize > MAX_SIZE) {
+            throw new CompressionException("Concatenated size " + totalSize + " exceeds the 16-bit header limit");
+        }
+
+        int[] output = new int[FixedWidthLayout.wordsFor(aligned, bits, totalSize)];
+        output[0] = FixedWidthLayout.header(totalSize, bits);
+
+        int count = 0;
+        for (PackedData part : parts) {
+            int[] words = part.getData();
+            int size = FixedWidthLayout.size(words);
+            if (FixedWidthLayout.bits(words) == bits) {
+                if (aligned) appendAligned(output, bits, count, words, size);
+                else appendOverlapped(output, (long) count * bits, words, (long) size * bits);
+            } else {
+                widen(output, aligned, bits, count, words, size);
+            }
+            count += size;
+        }
+
+        PackedData result = PackedData.empty();
+        result.setData(output);
+        result.setOriginalSize(totalSize);
+        result.setCompressedSize(output.length);
+        result.setBitsPerValue(bits);
+        return result;
+    }
+
+    /**
+     * Every aligned word holds valuesPerWord values in its low usedBits bits: the words of the part
+     * are shifted by the number of slots already filled in the current output word
+     **/
+    private static void appendAligned(int[] output, int bits, int count, int[] words, int size) {
+        int valuesPerWord = 32 / bits;
+        int usedBits = valuesPerWord * bits;
+        int usedMask = FixedWidthLayout.mask(usedBits);
+
+        for (int w = 0, copied = 0; copied < size; w++) {
+            int word = words[FixedWidthLayout.HEADER_SIZE + w];
+            int valuesInWord = Math.min(valuesPerWord, size - copied);
+            int slot = count % valuesPerWord;
+            int outputIndex = FixedWidthLayout.HEADER_SIZE + count / valuesPerWord;
+
+            if (slot == 0) {
+                output[outputIndex] |= word;
+            } else {
+                output[outputIndex] |= (word << (slot * bits)) & usedMask;
+                if (slot + valuesInWord > valuesPerWord) {
+                    output[outputIndex + 1] |= word >>> ((valuesPerWord - slot) * bits);
+                }
+            }
+            count += valuesInWord;
+            copied += valuesInWord;
+        }
+    }
+
+    /**
+     * The part is a plain bit stream: it is appended 32 bits at a time at the current bit position
+     **/
+    private static void appendOverlapped(int[] output, long bitPosition, int[] words, long totalBits) {
+        int outputIndex = FixedWidthLayout.HEADER_SIZE + (int) (bitPosition >>> 5);
+        int bitOffset = (int) (bitPosition & 31);
+        int fullWords = (int) (totalBits >>> 5);
+        int remainingBits = (int) (totalBits & 31);
+
+        for (int w = 0; w <= fullWords; w++) {
+            if (w == fullWords && remainingBits == 0) break;
+            int word = words[FixedWidthLayout.HEADER_SIZE + w];
+            if (w == fullWords) word &= FixedWidthLayout.mask(remainingBits);
+
+            output[outputIndex + w] |= word << bitOffset;
+            if (bitOffset != 0 && (w < fullWords || bitOffset + remainingBits > 32)) {
+                output[outputIndex + w + 1] |= word >>> (32 - bitOffset);
+            }
+        }
+    }
+
+    private static void widen(int[] output, boolean aligned, int bits, int count, int[] words, int size) {
+        int sourceBits = FixedWidthLayout.bits(words);
+        for (int i = 0; i < size; i++) {
+            int value = FixedWidthLayout.read(words, aligned, sourceBits, i);
+            FixedWidthLayout.write(output, aligned, bits, count + i, value);
+        }
+    }
+}
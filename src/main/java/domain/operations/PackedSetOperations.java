@@ -0,0 +1,135 @@
+package domain.operations;
+
+import domain.entities.PackedData;
+import domain.exception.CompressionException;
+import domain.factory.CompressionTypeEnum;
+import domain.factory.products.FixedWidthLayout;
+import domain.search.PackedSortedSearch;
+
+import java.util.Arrays;
+
+/**
+ * Set operations on sorted data packed by BitpackingAligned or BitpackingOverlapped.
+ * Inputs are read in place through PackedSortedSearch, the smaller side drives a galloping
+ * search in the larger one, and results are written directly into packed words of the output layout.
+ * Duplicate values are emitted once.
+ **/
+public final class PackedSetOperations {
+    private static final int MAX_SIZE = 0xFFFF;
+
+    private PackedSetOperations() {}
+
+    public static PackedData intersect(PackedSortedSearch left, PackedSortedSearch right, CompressionTypeEnum outputType) {
+        PackedSortedSearch small = left.size() <= right.size() ? left : right;
+        PackedSortedSearch large = small == left ? right : left;
+        Output output = new Output(outputType, Math.min(left.getBitsPerValue(), right.getBitsPerValue()), small.size());
+
+        int position = 0;
+        for (int i = 0; i < small.size() && position < large.size(); i++) {
+            int value = small.get(i);
+            position = large.lowerBound(value, position);
+            if (position < large.size() && large.get(position) == value) output.add(value);
+        }
+        return output.toPackedData();
+    }
+
+    public static int intersectionCardinality(PackedSortedSearch left, PackedSortedSearch right) {
+        PackedSortedSearch small = left.size() <= right.size() ? left : right;
+        PackedSortedSearch large = small == left ? right : left;
+
+        int count = 0;
+        int position = 0;
+        boolean hasLast = false;
+        int last = 0;
+        for (int i = 0; i < small.size() && position < large.size(); i++) {
+            int value = small.get(i);
+            if (hasLast && value == last) continue;
+            position = large.lowerBound(value, position);
+            if (position < large.size() && large.get(position) == value) {
+                count++;
+                hasLast = true;
+                last = value;
+            }
+        }
+        return count;
+    }
+
+    public static PackedData union(PackedSortedSearch left, PackedSortedSearch right, CompressionTypeEnum outputType) {
+        if ((long) left.size() + right.size() > MAX_SIZE) {
+            // l'union peut tout de même tenir si les listes se recouvrent
+            int size = left.size() + right.size() - intersectionCardinality(left, right);
+            if (size > MAX_SIZE) {
+                throw new CompressionException("Union size " + size + " exceeds the 16-bit header limit");
+            }
+        }
+        Output output = new Output(outputType, Math.max(left.getBitsPerValue(), right.getBitsPerValue()),
+                Math.min(MAX_SIZE, left.size() + right.size()));
+
+        int i = 0, j = 0;
+        while (i < left.size() && j < right.size()) {
+            int a = left.get(i);
+            int b = right.get(j);
+            if (a <= b) {
+                output.add(a);
+                i++;
+                if (a == b) j++;
+            } else {
+                output.add(b);
+                j++;
+            }
+        }
+        for (; i < left.size(); i++) output.add(left.get(i));
+        for (; j < right.size(); j++) output.add(right.get(j));
+        return output.toPackedData();
+    }
+
+    /**
+     * @return the values of left that are not in right
+     **/
+    public static PackedData difference(PackedSortedSearch left, PackedSortedSearch right, CompressionTypeEnum outputType) {
+        Output output = new Output(outputType, left.getBitsPerValue(), left.size());
+
+        int position = 0;
+        for (int i = 0; i < left.size(); i++) {
+            int value = left.get(i);
+            position = right.lowerBound(value, position);
+            if (position >= right.size() || right.get(position) != value) output.add(value);
+        }
+        return output.toPackedData();
+    }
+
+    /**
+     * Packs values as they are produced into words sized for the largest possible result
+     **/
+    private static final class Output {
+        private final boolean aligned;
+        private final int bits;
+        private final int[] words;
+        private int size;
+        private int last;
+
+        private Output(CompressionTypeEnum type, int bits, int capacity) {
+            this.aligned = FixedWidthLayout.isAligned(type);
+            this.bits = bits;
+            this.words = new int[FixedWidthLayout.wordsFor(aligned, bits, capacity)];
+        }
+
+        void add(int value) {
+            if (size > 0 && value == last) return;
+            FixedWidthLayout.write(words, aligned, bits, size++, value);
+            last = value;
+        }
+
+        PackedData toPackedData() {
+            int[] data = Arrays.copyOf(words, FixedWidthLayout.wordsFor(aligned, bits, size));
+            data[0] = FixedWidthLayout.header(size, bits);
+
+            PackedData packed = PackedData.empty();
+            packed.setData(data);
+            packed.setOriginalSize(size);
+            packed.setCompressedSize(data.length);
+            packed.setBitsPerValue(bits);
+            return packed;
+        }
+    }
+}
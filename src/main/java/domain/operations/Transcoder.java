@@ -0,0 +1,245 @@
+package domain.operations;
+
+import domain.BitPacking;
+import domain.entities.PackedData;
+import domain.entities.UnpackedData;
+import domain.exception.CompressionException;
+import domain.exception.InvalidDataException;
+import domain.factory.BitPackingFactory;
+import domain.factory.CompressionTypeEnum;
+import domain.factory.products.BitpackingWithOverflow;
+import domain.factory.products.FixedWidthLayout;
+
+/**
+ * Converts packed data from one registered format to another without decompressing it into a full int[].
+ * Aligned and Overlapped data of the same width are converted word by word, the values are never extracted.
+ * Other sources are read block by block through the bulk get of their codec into a small scratch buffer:
+ * a first pass finds the width (a width histogram for Overflow), a second one writes the values straight
+ * into the output words.
+ * Elias-Fano, Delta and Stream VByte can only compress a complete UnpackedData, so for these targets
+ * the values are still materialized once.
+ **/
+public final class Transcoder {
+    public static final int DEFAULT_SCRATCH_SIZE = 1024;
+    private static final int MAX_SIZE = 0xFFFF;
+
+    private Transcoder() {}
+
+    public static PackedData transcode(PackedData source, CompressionTypeEnum sourceType, CompressionTypeEnum targetType) {
+        return transcode(source, sourceType, targetType, DEFAULT_SCRATCH_SIZE);
+    }
+
+    /**
+     * @param source the packed data to convert
+     * @param sourceType the format of source
+     * @param targetType the format of the result
+     * @param scratchSize the number of values decoded at a time
+     * @return the data in the target format, source itself when both formats are the same
+     **/
+    public static PackedData transcode(PackedData source, CompressionTypeEnum sourceType, CompressionTypeEnum targetType,
+                                       int scratchSize) {
+        if (scratchSize <= 0) {
+            throw new IllegalArgumentException("Scratch size must be positive: " + scratchSize);
+        }
+        if (sourceType == targetType) {
+            return source;
+        }
+        if (isFixedWidth(sourceType) && isFixedWidth(targetType)) {
+            return FixedWidthLayout.isAligned(sourceType) ? alignedToOverlapped(source.getData())
+                    : overlappedToAligned(source.getData());
+        }
+
+        BitPacking reader = BitPackingFactory.createBitPacking(sourceType);
+        reader.load(source);
+        int size = sizeOf(source.getData(), sourceType);
+        if (isFixedWidth(targetType)) {
+            return streamToFixedWidth(reader, size, FixedWidthLayout.isAligned(targetType), scratchSize);
+        }
+        if (targetType == CompressionTypeEnum.OVERFLOW) {
+            return streamToOverflow(reader, size, scratchSize);
+        }
+
+        // les autres formats n'acceptent qu'un UnpackedData complet, rempli sans copie supplémentaire
+        int[] values = new int[size];
+        for (int from = 0; from < size; from += scratchSize) {
+            reader.get(from, values, from, Math.min(scratchSize, size - from));
+        }
+        UnpackedData unpacked = UnpackedData.empty();
+        unpacked.setData(values);
+        PackedData target = PackedData.empty();
+        BitPackingFactory.createBitPacking(targetType).compress(unpacked, target);
+        return target;
+    }
+
+    private static boolean isFixedWidth(CompressionTypeEnum type) {
+        return type == CompressionTypeEnum.ALIGNED || type == CompressionTypeEnum.OVERLAPPED;
+    }
+
+    /**
+     * Number of values stored in data, read from the header of each format
+     **/
+    private static int sizeOf(int[] data, CompressionTypeEnum type) {
+        return switch (type) {
+            case ALIGNED, OVERLAPPED -> FixedWidthLayout.size(data);
+            case OVERFLOW -> data[1];
+            default -> data[0];
+        };
+    }
+
+    /**
+     * Every aligned word holds valuesPerWord values in its low bits, which are appended to the bit stream as a whole
+     **/
+    private static PackedData alignedToOverlapped(int[] words) {
+        int size = FixedWidthLayout.size(words);
+        int bits = FixedWidthLayout.bits(words);
+        int valuesPerWord = 32 / bits;
+        int[] output = new int[FixedWidthLayout.wordsFor(false, bits, size)];
+        output[0] = words[0];
+
+        long accumulator = 0;
+        int filled = 0;
+        int outputIndex = FixedWidthLayout.HEADER_SIZE;
+        for (int copied = 0, w = FixedWidthLayout.HEADER_SIZE; copied < size; w++) {
+            int valuesInWord = Math.min(valuesPerWord, size - copied);
+            int chunkBits = valuesInWord * bits;
+            accumulator |= (words[w] & (FixedWidthLayout.mask(chunkBits) & 0xFFFFFFFFL)) << filled;
+            filled += chunkBits;
+            if (filled >= 32) {
+                output[outputIndex++] = (int) accumulator;
+                accumulator >>>= 32;
+                filled -= 32;
+            }
+            copied += valuesInWord;
+        }
+        if (filled > 0) output[outputIndex] = (int) accumulator;
+        return toPackedData(output, size, bits);
+    }
+
+    /**
+     * Each aligned word is cut from the bit stream as valuesPerWord * bits consecutive bits
+     **/
+    private static PackedData overlappedToAligned(int[] words) {
+        int size = FixedWidthLayout.size(words);
+        int bits = FixedWidthLayout.bits(words);
+        int valuesPerWord = 32 / bits;
+        int[] output = new int[FixedWidthLayout.wordsFor(true, bits, size)];
+        output[0] = words[0];
+
+        long bitPosition = 0;
+        for (int copied = 0, w = FixedWidthLayout.HEADER_SIZE; copied < size; w++) {
+            int valuesInWord = Math.min(valuesPerWord, size - copied);
+            int chunkBits = valuesInWord * bits;
+            int wordIndex = FixedWidthLayout.HEADER_SIZE + (int) (bitPosition >>> 5);
+            int bitOffset = (int) (bitPosition & 31);
+            long window = words[wordIndex] & 0xFFFFFFFFL;
+            if (bitOffset + chunkBits > 32) {
+                window |= (long) words[wordIndex + 1] << 32;
+            }
+            output[w] = (int) (window >>> bitOffset) & FixedWidthLayout.mask(chunkBits);
+            bitPosition += chunkBits;
+            copied += valuesInWord;
+        }
+        return toPackedData(output, size, bits);
+    }
+
+    private static PackedData streamToFixedWidth(BitPacking reader, int size, boolean aligned, int scratchSize) {
+        if (size > MAX_SIZE) {
+            throw new CompressionException("Size " + size + " exceeds the 16-bit header limit");
+        }
+        int[] scratch = new int[Math.min(scratchSize, Math.max(size, 1))];
+
+        int max = Integer.MIN_VALUE;
+        for (int from = 0; from < size; from += scratch.length) {
+            int length = Math.min(scratch.length, size - from);
+            reader.get(from, scratch, 0, length);
+            for (int i = 0; i < length; i++) {
+                if (scratch[i] < 0) {
+                    throw new InvalidDataException("Fixed-width bit packing requires non-negative values (index " + (from + i) + ")");
+                }
+                max = Math.max(max, scratch[i]);
+            }
+        }
+        // même largeur que compress, calculée sur la valeur maximale
+        int bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(max));
+
+        int[] output = new int[FixedWidthLayout.wordsFor(aligned, bits, size)];
+        output[0] = FixedWidthLayout.header(size, bits);
+        for (int from = 0; from < size; from += scratch.length) {
+            int length = Math.min(scratch.length, size - from);
+            reader.get(from, scratch, 0, length);
+            for (int i = 0; i < length; i++) {
+                FixedWidthLayout.write(output, aligned, bits, from + i, scratch[i]);
+            }
+        }
+        return toPackedData(output, size, bits);
+    }
+
+    /**
+     * Produces the BitpackingWithOverflow format: the first pass counts the values of each bit length
+     * and picks the payload width with the cost function of the codec, the second pass writes the
+     * overflow table and the bit stream, whose sizes are then known
+     **/
+    private static PackedData streamToOverflow(BitPacking reader, int size, int scratchSize) {
+        int[] scratch = new int[Math.min(scratchSize, Math.max(size, 1))];
+        int[] lengthCounts = new int[33];
+        for (int from = 0; from < size; from += scratch.length) {
+            int length = Math.min(scratch.length, size - from);
+            reader.get(from, scratch, 0, length);
+            for (int i = 0; i < length; i++) {
+                lengthCounts[BitpackingWithOverflow.bitLength(scratch[i])]++;
+            }
+        }
+
+        int payloadBits = BitpackingWithOverflow.findBitSize(lengthCounts, size);
+        int overflowCount = BitpackingWithOverflow.overflowCount(lengthCounts, payloadBits);
+        int elementBits = payloadBits + 1;
+        int streamStart = 3 + overflowCount;
+        long outputLength = streamStart + ((long) size * elementBits + 31) / 32;
+        if (outputLength > Integer.MAX_VALUE - 8) {
+            throw new CompressionException("Overflow output of " + outputLength + " words does not fit in an int array");
+        }
+        int[] output = new int[(int) outputLength];
+        output[0] = payloadBits;
+        output[1] = size;
+        output[2] = overflowCount;
+
+        int overflowIndex = 0;
+        long bitPosition = 0;
+        for (int from = 0; from < size; from += scratch.length) {
+            int length = Math.min(scratch.length, size - from);
+            reader.get(from, scratch, 0, length);
+            for (int i = 0; i < length; i++) {
+                int encoded;
+                if ((scratch[i] >>> payloadBits) == 0) {
+                    encoded = scratch[i];
+                } else {
+                    output[3 + overflowIndex] = scratch[i];
+                    encoded = (1 << payloadBits) | overflowIndex++;
+                }
+                int wordIndex = streamStart + (int) (bitPosition >>> 5);
+                int bitOffset = (int) (bitPosition & 31);
+                output[wordIndex] |= encoded << bitOffset;
+                if (bitOffset + elementBits > 32) {
+                    output[wordIndex + 1] |= encoded >>> (32 - bitOffset);
+                }
+                bitPosition += elementBits;
+            }
+        }
+
+        PackedData packed = PackedData.empty();
+        packed.setData(output);
+        packed.setOriginalSize(size);
+        packed.setCompressedSize(output.length);
+        packed.setBitsPerValue(elementBits);
+        return packed;
+    }
+
+    private static PackedData toPackedData(int[] words, int size, int bits) {
+        PackedData packed = PackedData.empty();
+        packed.setData(words);
+        packed.setOriginalSize(size);
+        packed.setCompressedSize(words.length);
+        packed.setBitsPerValue(bits);
+        return packed;
+    }
+}
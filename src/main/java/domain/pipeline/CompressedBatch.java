@@ -0,0 +1,10 @@
+package domain.pipeline;
+
+import domain.entities.PackedData;
+import domain.factory.CompressionTypeEnum;
+
+/**
+ * One result of CompressionProcessor: the packed batch and the codec that produced it,
+ * which subscribers need to decode it since the formats do not identify themselves
+ **/
+public record CompressedBatch(CompressionTypeEnum type, PackedData data) {}
@@ -0,0 +1,169 @@
+package domain.pipeline;
+
+import domain.BitPacking;
+import domain.entities.PackedData;
+import domain.entities.UnpackedData;
+import domain.factory.BitPackingFactory;
+import domain.factory.CompressionTypeEnum;
+import domain.factory.WidthAnalysis;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compression stage for asynchronous pipelines: receives UnpackedData batches and publishes them in the same order
+ * as CompressedBatch, the packed data together with the codec selected for it.
+ * Each batch goes through width analysis then packing as separate tasks on virtual threads.
+ * At most maxInFlight batches are requested from upstream and not yet published: a new batch is only
+ * requested once a result has been handed to the subscribers, and publishing waits for their demand.
+ * Without an executor from the caller, tasks run on a virtual-thread executor owned by the processor and shut down
+ * when it is closed, normally or on error, while results are delivered through the common pool.
+ **/
+public class CompressionProcessor extends SubmissionPublisher<CompressedBatch>
+        implements Flow.Processor<UnpackedData, CompressedBatch> {
+    public static final int DEFAULT_MAX_IN_FLIGHT = 16;
+
+    private final CompressionTypeEnum type;
+    private final int maxInFlight;
+    private final Executor workers;
+    private final ExecutorService ownedWorkers;
+    private final Queue<CompletableFuture<CompressedBatch>> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger drainRequests = new AtomicInteger();
+    private final AtomicBoolean terminated = new AtomicBoolean();
+    private volatile Flow.Subscription upstream;
+    private volatile boolean upstreamDone;
+
+    public CompressionProcessor(CompressionTypeEnum type) {
+        this(type, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * @param type the codec used for every batch, or null to pick one per batch from WidthAnalysis
+     * @param maxInFlight the maximum number of batches being compressed or waiting for downstream demand
+     **/
+    public CompressionProcessor(CompressionTypeEnum type, int maxInFlight) {
+        this(type, maxInFlight, ForkJoinPool.commonPool(), Executors.newVirtualThreadPerTaskExecutor(), true);
+    }
+
+    /**
+     * @param workers runs the compression tasks and delivers the results, the caller keeps ownership of it
+     **/
+    public CompressionProcessor(CompressionTypeEnum type, int maxInFlight, Executor workers) {
+        this(type, maxInFlight, workers, workers, false);
+    }
+
+    private CompressionProcessor(CompressionTypeEnum type, int maxInFlight, Executor delivery, Executor workers,
+                                 boolean ownsWorkers) {
+        super(delivery, maxInFlight);
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.type = type;
+        this.maxInFlight = maxInFlight;
+        this.workers = workers;
+        this.ownedWorkers = ownsWorkers ? (ExecutorService) workers : null;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (upstream != null) {
+            subscription.cancel();
+            return;
+        }
+        upstream = subscription;
+        subscription.request(maxInFlight);
+    }
+
+    @Override
+    public void onNext(UnpackedData batch) {
+        CompletableFuture<CompressedBatch> result = CompletableFuture
+                .supplyAsync(() -> type != null ? type : WidthAnalysis.suggest(batch.getData()), workers)
+                .thenApplyAsync(selected -> pack(batch, selected), workers);
+        pending.add(result);
+        result.whenCompleteAsync((packed, error) -> drain(), workers);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        // le dernier drain peut bloquer dans submit : il ne doit pas retenir le thread amont
+        workers.execute(this::drain);
+    }
+
+    /**
+     * Also shuts down the executor owned by the processor, tasks already started run to completion
+     **/
+    @Override
+    public void close() {
+        super.close();
+        shutdownWorkers();
+    }
+
+    @Override
+    public void closeExceptionally(Throwable error) {
+        super.closeExceptionally(error);
+        shutdownWorkers();
+    }
+
+    private void shutdownWorkers() {
+        if (ownedWorkers != null) ownedWorkers.shutdown();
+    }
+
+    private static CompressedBatch pack(UnpackedData batch, CompressionTypeEnum selected) {
+        BitPacking codec = BitPackingFactory.createBitPacking(selected);
+        PackedData packed = PackedData.empty();
+        codec.compress(batch, packed);
+        return new CompressedBatch(selected, packed);
+    }
+
+    /**
+     * Publishes completed results in arrival order; only one thread drains at a time,
+     * a request made while draining triggers one more pass
+     **/
+    private void drain() {
+        if (drainRequests.getAndIncrement() != 0) return;
+        do {
+            CompletableFuture<CompressedBatch> head;
+            while (!terminated.get() && (head = pending.peek()) != null && head.isDone()) {
+                pending.poll();
+                CompressedBatch packed;
+                try {
+                    packed = head.join();
+                } catch (CompletionException e) {
+                    fail(e.getCause());
+                    return;
+                }
+                // bloque tant que les abonnés n'ont pas de demande : c'est la contre-pression
+                submit(packed);
+                upstream.request(1);
+            }
+            if (upstreamDone && pending.isEmpty() && terminated.compareAndSet(false, true)) {
+                close();
+            }
+        } while (drainRequests.decrementAndGet() != 0);
+    }
+
+    private void fail(Throwable throwable) {
+        if (terminated.compareAndSet(false, true)) {
+            Flow.Subscription subscription = upstream;
+            if (subscription != null) subscription.cancel();
+            pending.clear();
+            closeExceptionally(throwable);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package domain.search;
+
+import domain.entities.PackedData;
+import domain.factory.CompressionTypeEnum;
+import domain.factory.products.FixedWidthLayout;
+
+/**
+ * Searches sorted data packed by BitpackingAligned or BitpackingOverlapped without decompressing it.
+ * A top-level index keeps every n-th value so that a search first probes this small array,
+ * then finishes with a binary search inside a single block of packed words.
+ * The packed values must be in non-decreasing order.
+ **/
+public class PackedSortedSearch {
+    public static final int DEFAULT_SAMPLING = 64;
+
+    private final int[] words;
+    private final boolean aligned;
+    private final int bits;
+    private final int size;
+    private final int sampling;
+    private final int[] samples;
+
+    public PackedSortedSearch(PackedData packedData, CompressionTypeEnum type) {
+        this(packedData, type, DEFAULT_SAMPLING);
+    }
+
+    public PackedSortedSearch(PackedData packedData, CompressionTypeEnum type, int sampling) {
+        if (sampling <= 0) {
+            throw new IllegalArgumentException("Sampling interval must be positive: " + sampling);
+        }
+        this.words = packedData.getData();
+        this.aligned = FixedWidthLayout.isAligned(type);
+        this.bits = FixedWidthLayout.bits(words);
+        this.size = FixedWidthLayout.size(words);
+        this.sampling = sampling;
+
+        this.samples = new int[(size + sampling - 1) / sampling];
+        for (int k = 0; k < samples.length; k++) {
+            samples[k] = FixedWidthLayout.read(words, aligned, bits, k * sampling);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getBitsPerValue() {
+        return bits;
+    }
+
+    public int get(int index) {
+        return FixedWidthLayout.read(words, aligned, bits, index);
+    }
+
+    /**
+     * @return the index of the first value greater than or equal to value, or size() if there is none
+     **/
+    public int lowerBound(int value) {
+        return search(value, false);
+    }
+
+    /**
+     * Galloping search from a known position, for callers moving forward through the data:
+     * probes fromIndex + 1, 2, 4... and switches to the sampled index once the gap exceeds one block
+     * @return the index of the first value greater than or equal to value at or after fromIndex, or size()
+     **/
+    public int lowerBound(int value, int fromIndex) {
+        if (fromIndex >= size || get(fromIndex) >= value) return fromIndex;
+
+        int low = fromIndex;
+        int step = 1;
+        while (true) {
+            if (step > sampling) return Math.max(fromIndex, lowerBound(value));
+            int probe = fromIndex + step;
+            if (probe >= size || get(probe) >= value) {
+                int high = Math.min(probe, size);
+                while (low + 1 < high) {
+                    int middle = (low + high) >>> 1;
+                    if (get(middle) < value) low = middle;
+                    else high = middle;
+                }
+                return high;
+            }
+            low = probe;
+            step <<= 1;
+        }
+    }
+
+    /**
+     * @return the index of the first value strictly greater than value, or size() if there is none
+     **/
+    public int upperBound(int value) {
+        return search(value, true);
+    }
+
+    public boolean contains(int value) {
+        int index = lowerBound(value);
+        return index < size && get(index) == value;
+    }
+
+    private int search(int value, boolean strict) {
+        // premier échantillon qui dépasse la valeur : le résultat est dans le bloc précédent
+        int low = 0, high = samples.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (before(samples[middle], value, strict)) low = middle + 1;
+            else high = middle;
+        }
+        if (low == 0) return 0;
+
+        int from = (low - 1) * sampling + 1;
+        int to = Math.min(size, low * sampling);
+        while (from < to) {
+            int middle = (from + to) >>> 1;
+            if (before(get(middle), value, strict)) from = middle + 1;
+            else to = middle;
+        }
+        return from;
+    }
+
+    private static boolean before(int candidate, int value, boolean strict) {
+        return strict ? candidate <= value : candidate < value;
+    }
+}